@@ -0,0 +1,243 @@
+package com.openclassrooms.mddapi.cache;
+
+import com.openclassrooms.mddapi.event.ArticleEvent;
+import com.openclassrooms.mddapi.event.ArticlesImportedEvent;
+import com.openclassrooms.mddapi.model.Theme;
+import com.openclassrooms.mddapi.repository.ArticleRepository;
+import com.openclassrooms.mddapi.repository.ThemeRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * In-memory window over the newest articles of each theme
+ * Serves first pages of theme lists and of the feed without a database round trip.
+ * Each theme holds an immutable ThemeSnapshot swapped by compare-and-set: readers never block,
+ * and a reload started before a concurrent change is discarded instead of overwriting it.
+ * Kept up to date after commit from ArticleEvents; theme renames and profile changes evict.
+ * Other instances publish no events here: a periodic reload bounds how long their writes stay unseen.
+ */
+@Component
+@Slf4j
+public class ArticleBuffer {
+
+    private final ArticleRepository articleRepository;
+    private final ThemeRepository themeRepository;
+    private final ConcurrentHashMap<Long, AtomicReference<ThemeSnapshot>> themes = new ConcurrentHashMap<>();
+    private final Counter hits;
+    private final Counter misses;
+
+    @Value("${app.article-buffer.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.article-buffer.capacity:50}")
+    private int capacity;
+
+    public ArticleBuffer(ArticleRepository articleRepository,
+                         ThemeRepository themeRepository,
+                         MeterRegistry meterRegistry) {
+        this.articleRepository = articleRepository;
+        this.themeRepository = themeRepository;
+        this.hits = Counter.builder("article.buffer.lookups")
+                .description("First-page reads answered from the in-memory article buffer")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("article.buffer.lookups")
+                .description("First-page reads that had to query the database")
+                .tag("result", "miss")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void preload() {
+        if (!enabled) {
+            return;
+        }
+        for (Theme theme : themeRepository.findAll()) {
+            AtomicReference<ThemeSnapshot> ref = holder(theme.getId());
+            load(theme.getId(), ref, ref.get());
+        }
+        log.info("Article buffer preloaded for {} themes, capacity {}", themes.size(), capacity);
+    }
+
+    /**
+     * Re-read every loaded window, picking up articles written by other instances
+     * A window changed locally during its reload keeps the local change (compare-and-set in load)
+     */
+    @Scheduled(initialDelayString = "${app.article-buffer.refresh-ms:30000}", fixedDelayString = "${app.article-buffer.refresh-ms:30000}")
+    public void refreshAll() {
+        if (!enabled) {
+            return;
+        }
+        for (var entry : themes.entrySet()) {
+            ThemeSnapshot current = entry.getValue().get();
+            if (!current.isLoaded()) {
+                continue;
+            }
+            try {
+                load(entry.getKey(), entry.getValue(), current);
+            } catch (RuntimeException e) {
+                log.warn("Article buffer refresh failed for theme {}, evicting it", entry.getKey(), e);
+                entry.getValue().compareAndSet(current, ThemeSnapshot.unloaded());
+            }
+        }
+        log.debug("Article buffer refreshed {} themes", themes.size());
+    }
+
+    /**
+     * First limit articles of a theme, newest first
+     *
+     * @return The articles, or empty when the buffer cannot answer and the database must be queried
+     */
+    public Optional<List<ArticleSummary>> firstPage(Long themeId, int limit) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+
+        Optional<ThemeSnapshot> snapshot = servable(themeId, limit);
+        if (snapshot.isEmpty()) {
+            misses.increment();
+            return Optional.empty();
+        }
+        hits.increment();
+        return Optional.of(snapshot.get().head(limit));
+    }
+
+    /**
+     * First limit articles across several themes, newest first
+     * The newest limit articles of the union are always among the newest limit of each theme
+     *
+     * @return The articles, or empty when any of the themes cannot be answered from memory
+     */
+    public Optional<List<ArticleSummary>> firstPage(Collection<Long> themeIds, int limit) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+
+        List<ArticleSummary> merged = new ArrayList<>();
+        for (Long themeId : themeIds) {
+            Optional<ThemeSnapshot> snapshot = servable(themeId, limit);
+            if (snapshot.isEmpty()) {
+                misses.increment();
+                return Optional.empty();
+            }
+            merged.addAll(snapshot.get().head(limit));
+        }
+        hits.increment();
+
+        merged.sort(ThemeSnapshot.NEWEST_FIRST);
+        return Optional.of(merged.size() <= limit ? merged : merged.subList(0, limit));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onArticleEvent(ArticleEvent event) {
+        if (!enabled) {
+            return;
+        }
+
+        try {
+            switch (event.getType()) {
+                case CREATED, UPDATED -> {
+                    if (event.isThemeChanged()) {
+                        holder(event.getPreviousThemeId())
+                                .updateAndGet(snapshot -> snapshot.remove(event.getArticleId(), capacity));
+                    }
+                    refresh(event.getThemeId(), event.getArticleId());
+                }
+                case COMMENTS_CHANGED -> {
+                    // Only articles inside the window show their counter from here
+                    if (holder(event.getThemeId()).get().contains(event.getArticleId())) {
+                        refresh(event.getThemeId(), event.getArticleId());
+                    }
+                }
+                case DELETED -> holder(event.getThemeId())
+                        .updateAndGet(snapshot -> snapshot.remove(event.getArticleId(), capacity));
+            }
+        } catch (RuntimeException e) {
+            log.warn("Article buffer update failed for article {}, evicting theme {}", event.getArticleId(), event.getThemeId(), e);
+            holder(event.getThemeId()).set(ThemeSnapshot.unloaded());
+        }
+    }
+
+    /**
+     * Drop a theme's window once the current transaction commits, e.g. after a rename
+     */
+    public void evictTheme(Long themeId) {
+        afterCommit(() -> themes.remove(themeId));
+    }
+
+    /**
+     * Drop every window once the current transaction commits, e.g. after an author renamed themselves or a bulk import
+     */
+    @EventListener(ArticlesImportedEvent.class)
+    public void evictAll() {
+        afterCommit(themes::clear);
+    }
+
+    private Optional<ThemeSnapshot> servable(Long themeId, int limit) {
+        AtomicReference<ThemeSnapshot> ref = holder(themeId);
+        ThemeSnapshot snapshot = ref.get();
+        if (!snapshot.isLoaded()) {
+            snapshot = load(themeId, ref, snapshot);
+        }
+        return snapshot != null && snapshot.canServe(limit) ? Optional.of(snapshot) : Optional.empty();
+    }
+
+    private void refresh(Long themeId, Long articleId) {
+        articleRepository.findSummaryById(articleId).ifPresent(summary ->
+                holder(themeId).updateAndGet(snapshot -> snapshot.upsert(summary, capacity)));
+    }
+
+    /**
+     * Read a theme's window and install it unless the snapshot changed meanwhile
+     *
+     * @return The loaded snapshot, or null when the theme does not exist
+     */
+    private ThemeSnapshot load(Long themeId, AtomicReference<ThemeSnapshot> ref, ThemeSnapshot expected) {
+        List<ArticleSummary> rows = articleRepository.findSummariesByTheme(themeId, PageRequest.ofSize(capacity + 1));
+        if (rows.isEmpty() && !themeRepository.existsById(themeId)) {
+            themes.remove(themeId, ref);
+            return null;
+        }
+
+        ThemeSnapshot loaded = ThemeSnapshot.of(rows, capacity);
+        if (!ref.compareAndSet(expected, loaded)) {
+            log.debug("Theme {} changed while loading, keeping the newer snapshot", themeId);
+        }
+        return loaded;
+    }
+
+    private AtomicReference<ThemeSnapshot> holder(Long themeId) {
+        return themes.computeIfAbsent(themeId, id -> new AtomicReference<>(ThemeSnapshot.unloaded()));
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
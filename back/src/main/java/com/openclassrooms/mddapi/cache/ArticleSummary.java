@@ -0,0 +1,67 @@
+package com.openclassrooms.mddapi.cache;
+
+import com.openclassrooms.mddapi.dto.response.ArticleSummaryResponse;
+import com.openclassrooms.mddapi.dto.response.ThemeResponse;
+import com.openclassrooms.mddapi.repository.projection.ArticleKey;
+import com.openclassrooms.mddapi.repository.projection.ArticleVersion;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * Immutable copy of everything an article list row shows, shared between threads by ArticleBuffer
+ * Holds the excerpt rather than the article body. A fresh ArticleSummaryResponse is built for every read so callers can never alter the cached state
+ */
+@Value
+public class ArticleSummary implements ArticleKey, ArticleVersion {
+
+    Long id;
+    String title;
+    String excerpt;
+    String authorUsername;
+    LocalDateTime authorUpdatedAt;
+    Long themeId;
+    String themeName;
+    String themeDescription;
+    LocalDateTime themeCreatedAt;
+    LocalDateTime themeUpdatedAt;
+    Integer commentsCount;
+    LocalDateTime lastActivityAt;
+    LocalDateTime createdAt;
+    LocalDateTime updatedAt;
+
+    // Constructor used by JPQL projections, the content prefix is cut to an excerpt once here
+    public ArticleSummary(Long id, String title, String contentPrefix, String authorUsername,
+                          LocalDateTime authorUpdatedAt, Long themeId, String themeName, String themeDescription,
+                          LocalDateTime themeCreatedAt, LocalDateTime themeUpdatedAt, Integer commentsCount,
+                          LocalDateTime lastActivityAt, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this.id = id;
+        this.title = title;
+        this.excerpt = ArticleSummaryResponse.toExcerpt(contentPrefix);
+        this.authorUsername = authorUsername;
+        this.authorUpdatedAt = authorUpdatedAt;
+        this.themeId = themeId;
+        this.themeName = themeName;
+        this.themeDescription = themeDescription;
+        this.themeCreatedAt = themeCreatedAt;
+        this.themeUpdatedAt = themeUpdatedAt;
+        this.commentsCount = commentsCount;
+        this.lastActivityAt = lastActivityAt;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
+    public ArticleSummaryResponse toResponse() {
+        return new ArticleSummaryResponse(
+                id,
+                title,
+                excerpt,
+                authorUsername,
+                new ThemeResponse(themeId, themeName, themeDescription, themeCreatedAt, themeUpdatedAt),
+                commentsCount,
+                createdAt,
+                updatedAt
+        );
+    }
+}
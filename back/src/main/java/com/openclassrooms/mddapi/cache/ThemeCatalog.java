@@ -0,0 +1,113 @@
+package com.openclassrooms.mddapi.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.openclassrooms.mddapi.dto.response.ThemeResponse;
+import com.openclassrooms.mddapi.model.Theme;
+import com.openclassrooms.mddapi.repository.ThemeRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * In-memory catalog of the themes, which almost never change
+ * Serves the theme list, theme lookups and name checks without a database round trip.
+ * Readers get an immutable ThemeCatalogSnapshot; theme writes reload it once committed,
+ * and a periodic reload picks up writes made by other instances.
+ */
+@Component
+@Slf4j
+public class ThemeCatalog {
+
+    private final ThemeRepository themeRepository;
+    private final ObjectMapper objectMapper;
+
+    // Null until first read; only replaced under the lock, by a snapshot read after the previous one
+    private volatile ThemeCatalogSnapshot snapshot;
+    private long version;
+
+    public ThemeCatalog(ThemeRepository themeRepository, ObjectMapper objectMapper) {
+        this.themeRepository = themeRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    public ThemeCatalogSnapshot current() {
+        ThemeCatalogSnapshot current = snapshot;
+        return current != null ? current : reload();
+    }
+
+    /**
+     * A theme by id; a miss is checked against the database in case another instance just created it
+     */
+    public Optional<ThemeResponse> find(Long id) {
+        Optional<ThemeResponse> theme = current().find(id);
+        if (theme.isEmpty() && themeRepository.existsById(id)) {
+            return reload().find(id);
+        }
+        return theme;
+    }
+
+    public boolean exists(Long id) {
+        return find(id).isPresent();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${app.theme-catalog.refresh-ms:300000}", fixedDelayString = "${app.theme-catalog.refresh-ms:300000}")
+    public void refresh() {
+        reload();
+    }
+
+    /**
+     * Read every theme and swap the snapshot
+     * Serialized, so a reload that read older rows can never replace a newer snapshot.
+     */
+    public synchronized ThemeCatalogSnapshot reload() {
+        List<ThemeResponse> themes = themeRepository.findAllForCatalog().stream()
+                .map(ThemeCatalog::toResponse)
+                .toList();
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(themes);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize the theme catalog", e);
+        }
+
+        ThemeCatalogSnapshot reloaded = new ThemeCatalogSnapshot(++version, themes, json);
+        snapshot = reloaded;
+        log.debug("Theme catalog v{} loaded: {} themes, {} bytes", reloaded.getVersion(), themes.size(), json.length);
+        return reloaded;
+    }
+
+    /**
+     * Reload once the current transaction commits, right away without one
+     */
+    public void reloadAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    reload();
+                }
+            });
+        } else {
+            reload();
+        }
+    }
+
+    private static ThemeResponse toResponse(Theme theme) {
+        return new ThemeResponse(
+                theme.getId(),
+                theme.getName(),
+                theme.getDescription(),
+                theme.getCreatedAt(),
+                theme.getUpdatedAt()
+        );
+    }
+}
@@ -0,0 +1,78 @@
+package com.openclassrooms.mddapi.cache;
+
+import com.openclassrooms.mddapi.dto.response.ThemeResponse;
+import com.openclassrooms.mddapi.util.ResourceVersion;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable view of every theme, with the GET /api/themes body serialized once
+ * List, lookups, validators and body all come from the same read, so they always agree.
+ * The ThemeResponse instances are shared between readers and must not be modified.
+ */
+public final class ThemeCatalogSnapshot {
+
+    private final long version;
+    private final List<ThemeResponse> themes;
+    private final Map<Long, ThemeResponse> byId;
+    private final Set<String> names;
+    private final ResourceVersion listVersion;
+    private final byte[] json;
+
+    ThemeCatalogSnapshot(long version, List<ThemeResponse> themes, byte[] json) {
+        this.version = version;
+        this.themes = List.copyOf(themes);
+        Map<Long, ThemeResponse> index = new LinkedHashMap<>();
+        themes.forEach(theme -> index.put(theme.getId(), theme));
+        this.byId = Collections.unmodifiableMap(index);
+        this.names = themes.stream().map(ThemeResponse::getName).collect(Collectors.toUnmodifiableSet());
+
+        LocalDateTime lastUpdatedAt = themes.stream()
+                .map(ThemeResponse::getUpdatedAt)
+                .filter(Objects::nonNull)
+                .max(LocalDateTime::compareTo)
+                .orElse(null);
+        // Same validator as the former database query: count and latest update
+        // No Last-Modified on lists: a deleted theme changes the list without making it any newer
+        this.listVersion = ResourceVersion.of(null, "themes", (long) themes.size(), lastUpdatedAt);
+        this.json = json;
+    }
+
+    /**
+     * Increases with every reload of this process, for logs
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public List<ThemeResponse> getThemes() {
+        return themes;
+    }
+
+    public Optional<ThemeResponse> find(Long id) {
+        return Optional.ofNullable(byId.get(id));
+    }
+
+    public boolean containsName(String name) {
+        return names.contains(name);
+    }
+
+    public ResourceVersion getListVersion() {
+        return listVersion;
+    }
+
+    /**
+     * JSON array of the themes, shared between requests: written as is, never modified
+     */
+    public byte[] getJson() {
+        return json;
+    }
+}
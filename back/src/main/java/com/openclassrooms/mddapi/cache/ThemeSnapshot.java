@@ -0,0 +1,117 @@
+package com.openclassrooms.mddapi.cache;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Immutable window over the newest articles of one theme, newest first
+ * Every change builds a new snapshot so readers never observe a partially updated buffer.
+ * The window is always a prefix of the theme's articles: complete means it holds all of them.
+ */
+final class ThemeSnapshot {
+
+    static final Comparator<ArticleSummary> NEWEST_FIRST =
+            Comparator.comparing(ArticleSummary::getCreatedAt).thenComparing(ArticleSummary::getId).reversed();
+
+    private final List<ArticleSummary> articles;
+    private final boolean loaded;
+    private final boolean complete;
+
+    private ThemeSnapshot(List<ArticleSummary> articles, boolean loaded, boolean complete) {
+        this.articles = articles;
+        this.loaded = loaded;
+        this.complete = complete;
+    }
+
+    /**
+     * Placeholder for a theme that still has to be read from the database
+     * A new instance is returned each time so a load started before a change cannot be installed after it
+     */
+    static ThemeSnapshot unloaded() {
+        return new ThemeSnapshot(List.of(), false, false);
+    }
+
+    /**
+     * Build a snapshot from the first capacity + 1 rows of a theme, newest first
+     */
+    static ThemeSnapshot of(List<ArticleSummary> rows, int capacity) {
+        boolean complete = rows.size() <= capacity;
+        return new ThemeSnapshot(List.copyOf(complete ? rows : rows.subList(0, capacity)), true, complete);
+    }
+
+    boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Whether the first limit articles of the theme are all in this snapshot
+     */
+    boolean canServe(int limit) {
+        return loaded && (complete || articles.size() >= limit);
+    }
+
+    List<ArticleSummary> head(int limit) {
+        return articles.size() <= limit ? articles : articles.subList(0, limit);
+    }
+
+    boolean contains(Long articleId) {
+        return articles.stream().anyMatch(article -> article.getId().equals(articleId));
+    }
+
+    /**
+     * Insert or replace an article, evicting the oldest one past capacity
+     * Articles older than an incomplete window are ignored: the window would stop being a prefix
+     */
+    ThemeSnapshot upsert(ArticleSummary summary, int capacity) {
+        if (!loaded) {
+            return unloaded();
+        }
+
+        List<ArticleSummary> next = new ArrayList<>(articles.size() + 1);
+        boolean present = false;
+        boolean placed = false;
+        for (ArticleSummary article : articles) {
+            if (article.getId().equals(summary.getId())) {
+                present = true;
+                continue;
+            }
+            if (!placed && NEWEST_FIRST.compare(summary, article) < 0) {
+                next.add(summary);
+                placed = true;
+            }
+            next.add(article);
+        }
+        if (!placed) {
+            if (!complete && !present) {
+                return this;
+            }
+            next.add(summary);
+        }
+
+        if (next.size() > capacity) {
+            return new ThemeSnapshot(List.copyOf(next.subList(0, capacity)), true, false);
+        }
+        return new ThemeSnapshot(List.copyOf(next), true, complete);
+    }
+
+    /**
+     * Drop an article; an incomplete window that shrank below half its capacity is reloaded lazily
+     */
+    ThemeSnapshot remove(Long articleId, int capacity) {
+        if (!loaded) {
+            return unloaded();
+        }
+        if (!contains(articleId)) {
+            return this;
+        }
+
+        List<ArticleSummary> next = articles.stream()
+                .filter(article -> !article.getId().equals(articleId))
+                .toList();
+        if (!complete && next.size() < capacity / 2) {
+            return unloaded();
+        }
+        return new ThemeSnapshot(next, true, complete);
+    }
+}
@@ -0,0 +1,60 @@
+package com.openclassrooms.mddapi.cli;
+
+import com.openclassrooms.mddapi.dto.response.ImportResponse;
+import com.openclassrooms.mddapi.service.ImportService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Command-line bulk import: imports an NDJSON file (gzip when it ends with .gz) and exits
+ * java -jar mdd-api.jar --spring.main.web-application-type=none --app.import.file=articles.ndjson.gz
+ */
+@Component
+@ConditionalOnProperty(name = "app.import.file")
+@Slf4j
+public class ArticleImportRunner implements ApplicationRunner {
+
+    @Autowired
+    private ImportService importService;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Value("${app.import.file}")
+    private Path file;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int exitCode = 0;
+        try (InputStream in = open(file)) {
+            ImportResponse response = importService.importArticles(in);
+            log.info("Import of {} done: {} imported, {} skipped, {} rows/s",
+                    file, response.getImported(), response.getSkipped(), response.getRowsPerSecond());
+        } catch (IOException | IllegalArgumentException e) {
+            log.error("Import of {} failed: {}", file, e.getMessage());
+            exitCode = 1;
+        }
+
+        int code = exitCode;
+        System.exit(SpringApplication.exit(context, () -> code));
+    }
+
+    private static InputStream open(Path file) throws IOException {
+        InputStream in = new BufferedInputStream(Files.newInputStream(file), 64 * 1024);
+        return file.getFileName().toString().endsWith(".gz") ? new GZIPInputStream(in, 64 * 1024) : in;
+    }
+}
@@ -0,0 +1,51 @@
+package com.openclassrooms.mddapi.config;
+
+import com.openclassrooms.mddapi.datasource.BulkheadDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Database bulkhead, on by default when requests run on virtual threads (spring.threads.virtual.enabled)
+ * Wraps every connection pool bean in a BulkheadDataSource with one permit per pooled connection.
+ * Replica pools, which are not beans, are wrapped by ReadReplicaConfig through bulkhead().
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.db.bulkhead.enabled", havingValue = "true")
+@Slf4j
+public class DatabaseBulkheadConfig {
+
+    @Bean
+    static BeanPostProcessor bulkheadDataSourcePostProcessor(Environment environment,
+                                                             ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                // Routing and lazy proxies in front of the pools are left alone
+                if (!(bean instanceof HikariDataSource pool)) {
+                    return bean;
+                }
+                return bulkhead(pool, beanName, environment, meterRegistry);
+            }
+        };
+    }
+
+    static BulkheadDataSource bulkhead(HikariDataSource pool, String name, Environment environment,
+                                       ObjectProvider<MeterRegistry> meterRegistry) {
+        // 0 (default) sizes the bulkhead to the connection pool
+        int configured = environment.getProperty("app.db.bulkhead.permits", Integer.class, 0);
+        int permits = configured > 0 ? configured : pool.getMaximumPoolSize();
+        long acquireTimeoutMs = environment.getProperty("app.db.bulkhead.acquire-timeout-ms", Long.class, 30000L);
+
+        BulkheadDataSource bulkhead = new BulkheadDataSource(pool, name, permits, acquireTimeoutMs);
+        meterRegistry.ifAvailable(bulkhead::bindTo);
+        log.info("Database bulkhead on '{}': {} permits, {} ms acquire timeout", name, permits, acquireTimeoutMs);
+        return bulkhead;
+    }
+}
@@ -0,0 +1,132 @@
+package com.openclassrooms.mddapi.config;
+
+import com.openclassrooms.mddapi.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read replicas: @Transactional(readOnly = true) work goes to app.datasource.replica.urls
+ * Replaces Boot's single pool with the primary pool (spring.datasource.*), one pool per replica
+ * and a ReplicaRoutingDataSource choosing between them, exposed behind a LazyConnectionDataSourceProxy.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replica.enabled", havingValue = "true")
+@Slf4j
+public class ReadReplicaConfig {
+
+    // Replay lag of a streaming replica; 0 on a server that is not replaying, or has replayed all it received.
+    // NULL when no WAL receiver is streaming: having replayed everything received says nothing once reception
+    // stopped. Without pg_read_all_stats the status column reads NULL, the row's presence still tells.
+    static final String POSTGRES_LAG_QUERY =
+            "SELECT CASE WHEN NOT pg_is_in_recovery() THEN 0 " +
+            "WHEN NOT EXISTS (SELECT 1 FROM pg_stat_wal_receiver WHERE COALESCE(status, 'streaming') = 'streaming') THEN NULL " +
+            "WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+
+    // The router is created by this class, hence looked up on use
+    @Autowired
+    private ObjectProvider<ReplicaRoutingDataSource> routerProvider;
+
+    @Value("${app.datasource.replica.urls}")
+    private List<String> urls;
+
+    @Value("${app.datasource.replica.pool-size:10}")
+    private int poolSize;
+
+    @Value("${app.datasource.replica.max-lag-ms:2000}")
+    private long maxLagMs;
+
+    @Value("${app.datasource.replica.lag-query:}")
+    private String lagQuery;
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public DataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                                             DataSourceProperties properties,
+                                                             Environment environment,
+                                                             ObjectProvider<MeterRegistry> meterRegistry) {
+        boolean bulkhead = environment.getProperty("app.db.bulkhead.enabled", Boolean.class, false);
+        List<ReplicaRoutingDataSource.Replica> replicas = new ArrayList<>();
+        for (int i = 0; i < urls.size(); i++) {
+            String name = "replica-" + (i + 1);
+            HikariDataSource pool = properties.initializeDataSourceBuilder()
+                    .type(HikariDataSource.class)
+                    .url(urls.get(i).trim())
+                    .build();
+            pool.setPoolName(name);
+            pool.setMaximumPoolSize(poolSize);
+            pool.setReadOnly(true);
+            meterRegistry.ifAvailable(pool::setMetricRegistry);
+
+            DataSource dataSource = bulkhead
+                    ? DatabaseBulkheadConfig.bulkhead(pool, name, environment, meterRegistry)
+                    : pool;
+            replicas.add(new ReplicaRoutingDataSource.Replica(name, dataSource));
+        }
+
+        ReplicaRoutingDataSource router = new ReplicaRoutingDataSource(primary, replicas, maxLagMs,
+                lagQuery.isBlank() ? POSTGRES_LAG_QUERY : lagQuery);
+        meterRegistry.ifAvailable(router::bindTo);
+        router.checkLag();
+        log.info("Routing read-only transactions to {} replica(s), max lag {} ms", replicas.size(), maxLagMs);
+        return router;
+    }
+
+    /**
+     * The DataSource JPA and every other client use
+     * Connections are only fetched from the router at the first statement, once the transaction is marked read-only.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaRoutingDataSource router) {
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy();
+        proxy.setTargetDataSource(router);
+        proxy.setDefaultAutoCommit(true);
+        proxy.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        return proxy;
+    }
+
+    /**
+     * Give the connection back after each transaction
+     * Hibernate otherwise keeps it for the whole open-in-view request, and a write following a read
+     * in the same request would reuse the replica connection.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer releaseConnectionAfterTransaction() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    @Scheduled(initialDelayString = "${app.datasource.replica.lag-check-ms:5000}",
+               fixedDelayString = "${app.datasource.replica.lag-check-ms:5000}")
+    public void checkReplicaLag() {
+        routerProvider.ifAvailable(ReplicaRoutingDataSource::checkLag);
+    }
+}
@@ -1,5 +1,6 @@
 package com.openclassrooms.mddapi.config;
 
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -74,6 +75,9 @@ public class SecurityConfig {
                 // .requestMatchers("/swagger-ui.html").permitAll()
                 .requestMatchers("/v3/api-docs/**", "/swagger-ui/**", "/swagger-ui.html").permitAll()
                 .requestMatchers("/actuator/health").permitAll()
+                .requestMatchers("/api/admin/**").hasRole("ADMIN")
+                // Streamed responses finish on an async dispatch of a request already authorized on its first dispatch
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 // All other endpoints require authentication (including /api/auth/logout and /api/auth/me)
                 .anyRequest().authenticated()
             )
@@ -0,0 +1,90 @@
+package com.openclassrooms.mddapi.controller;
+
+import com.openclassrooms.mddapi.service.ExportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/admin/export")
+@CrossOrigin(origins = "*", maxAge = 3600)
+@Tag(name = "Admin export", description = "Bulk NDJSON export APIs (admin only)")
+public class AdminExportController {
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private static final MediaType GZIP = MediaType.parseMediaType("application/gzip");
+
+    @Autowired
+    private ExportService exportService;
+
+    /**
+     * Write target of an export: the raw output, or a gzip layer over it
+     */
+    @FunctionalInterface
+    private interface Export {
+        void writeTo(OutputStream out) throws IOException;
+    }
+
+    @GetMapping("/articles")
+    @Operation(summary = "Export articles", description = "Stream every article (with author, theme and comment count) as newline-delimited JSON in id order. " +
+            "Resume an interrupted export with afterId set to the id of the last line received. gzip=true returns a compressed file")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Export streamed"),
+            @ApiResponse(responseCode = "401", description = "Not authenticated"),
+            @ApiResponse(responseCode = "403", description = "Not an administrator"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<StreamingResponseBody> exportArticles(@RequestParam(defaultValue = "0") long afterId,
+                                                                @RequestParam(defaultValue = "false") boolean gzip) {
+        log.info("Exporting articles after ID: {}, gzip: {}", afterId, gzip);
+        return stream("articles", gzip, out -> exportService.exportArticles(afterId, out));
+    }
+
+    @GetMapping("/comments")
+    @Operation(summary = "Export comments", description = "Stream every comment as newline-delimited JSON in id order. " +
+            "Resume an interrupted export with afterId set to the id of the last line received. gzip=true returns a compressed file")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Export streamed"),
+            @ApiResponse(responseCode = "401", description = "Not authenticated"),
+            @ApiResponse(responseCode = "403", description = "Not an administrator"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<StreamingResponseBody> exportComments(@RequestParam(defaultValue = "0") long afterId,
+                                                                @RequestParam(defaultValue = "false") boolean gzip) {
+        log.info("Exporting comments after ID: {}, gzip: {}", afterId, gzip);
+        return stream("comments", gzip, out -> exportService.exportComments(afterId, out));
+    }
+
+    private ResponseEntity<StreamingResponseBody> stream(String name, boolean gzip, Export export) {
+        if (!gzip) {
+            return ResponseEntity.ok().contentType(NDJSON).body(export::writeTo);
+        }
+
+        StreamingResponseBody body = out -> {
+            GZIPOutputStream compressed = new GZIPOutputStream(out, 64 * 1024, true);
+            export.writeTo(compressed);
+            // finish, not close: the servlet container owns the response stream
+            compressed.finish();
+        };
+        ContentDisposition attachment = ContentDisposition.attachment().filename(name + ".ndjson.gz").build();
+        return ResponseEntity.ok()
+                .contentType(GZIP)
+                .header(HttpHeaders.CONTENT_DISPOSITION, attachment.toString())
+                .body(body);
+    }
+}
@@ -0,0 +1,51 @@
+package com.openclassrooms.mddapi.controller;
+
+import com.openclassrooms.mddapi.dto.response.ImportResponse;
+import com.openclassrooms.mddapi.service.ImportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/admin/import")
+@CrossOrigin(origins = "*", maxAge = 3600)
+@Tag(name = "Admin import", description = "Bulk NDJSON import APIs (admin only)")
+public class AdminImportController {
+
+    @Autowired
+    private ImportService importService;
+
+    @PostMapping(value = "/articles", consumes = {"application/x-ndjson", "application/gzip"})
+    @Operation(summary = "Import articles", description = "Insert the articles of a newline-delimited JSON body (title, content, authorId, themeId, optional createdAt/updatedAt), " +
+            "read as it is uploaded and committed in chunks. Lines of the article export are accepted. gzip=true reads a compressed body")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Import completed",
+                        content = @Content(mediaType = "application/json", schema = @Schema(implementation = ImportResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Malformed NDJSON (chunks before the faulty line are kept)"),
+            @ApiResponse(responseCode = "401", description = "Not authenticated"),
+            @ApiResponse(responseCode = "403", description = "Not an administrator"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<ImportResponse> importArticles(InputStream body,
+                                                         @RequestParam(defaultValue = "false") boolean gzip) throws IOException {
+        log.info("Importing articles, gzip: {}", gzip);
+
+        InputStream in = gzip ? new GZIPInputStream(body, 64 * 1024) : body;
+        ImportResponse response = importService.importArticles(in);
+        log.info("Imported {} articles, skipped {}", response.getImported(), response.getSkipped());
+
+        return ResponseEntity.ok(response);
+    }
+}
@@ -2,9 +2,16 @@ package com.openclassrooms.mddapi.controller;
 
 import com.openclassrooms.mddapi.dto.request.CreateArticleRequest;
 import com.openclassrooms.mddapi.dto.response.ArticleResponse;
+import com.openclassrooms.mddapi.dto.response.ArticleSearchHitResponse;
+import com.openclassrooms.mddapi.dto.response.ArticleSummaryResponse;
+import com.openclassrooms.mddapi.dto.response.CursorPageResponse;
+import com.openclassrooms.mddapi.dto.response.SearchPageResponse;
 import com.openclassrooms.mddapi.model.User;
+import com.openclassrooms.mddapi.search.SearchMode;
+import com.openclassrooms.mddapi.service.ArticleSearchService;
 import com.openclassrooms.mddapi.service.ArticleService;
 import com.openclassrooms.mddapi.service.AuthenticationHelperService;
+import com.openclassrooms.mddapi.util.ResourceVersion;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -14,12 +21,12 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
-
-import java.util.List;
+import org.springframework.web.context.request.WebRequest;
 
 @Slf4j
 @RestController
@@ -28,12 +35,18 @@ import java.util.List;
 @Tag(name = "Articles", description = "Article management APIs")
 public class ArticleController {
 
+    // Articles and their counters change often: clients always revalidate, which mostly costs a 304
+    private static final CacheControl ARTICLE_CACHE = CacheControl.noCache().cachePrivate();
+
     @Autowired
     private ArticleService articleService;
 
     @Autowired
     private AuthenticationHelperService authenticationHelperService;
 
+    @Autowired
+    private ArticleSearchService articleSearchService;
+
     @PostMapping
     @Operation(summary = "Create a new article", description = "Create a new article with the authenticated user as author")
     @ApiResponses(value = {
@@ -47,7 +60,7 @@ public class ArticleController {
     public ResponseEntity<ArticleResponse> createArticle(@Valid @RequestBody CreateArticleRequest request,
                                                        Authentication authentication) {
         User author = authenticationHelperService.getCurrentUser(authentication);
-        log.info("Creating article '{}' by user: {}", request.getTitle(), author.getUsername());
+        log.info("Creating article '{}' by user: {}", request.getTitle(), authentication.getName());
 
         ArticleResponse response = articleService.createArticle(request, author);
         log.info("Article created successfully with ID: {}", response.getId());
@@ -56,82 +69,124 @@ public class ArticleController {
     }
 
     @GetMapping
-    @Operation(summary = "Get all articles", description = "Retrieve all articles ordered by creation date (newest first)")
+    @Operation(summary = "Get all articles", description = "Retrieve a page of article summaries (content cut to an excerpt) ordered by creation date (newest first). Pass the returned nextCursor to fetch the following page. Supports If-None-Match")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Articles retrieved successfully"),
+            @ApiResponse(responseCode = "304", description = "Page not modified since the given ETag"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<List<ArticleResponse>> getAllArticles() {
-        log.info("Fetching all articles");
+    public ResponseEntity<CursorPageResponse<ArticleSummaryResponse>> getAllArticles(@RequestParam(required = false) String cursor,
+                                                                                     @RequestParam(required = false) Integer size,
+                                                                                     WebRequest webRequest) {
+        log.info("Fetching articles page");
 
-        List<ArticleResponse> articles = articleService.getAllArticles();
-        log.info("Retrieved {} articles", articles.size());
+        ResourceVersion version = articleService.getAllArticlesVersion(cursor, size);
+        if (version.isNotModified(webRequest)) {
+            return version.notModified();
+        }
 
-        return ResponseEntity.ok(articles);
+        CursorPageResponse<ArticleSummaryResponse> articles = articleService.getAllArticles(cursor, size);
+        log.info("Retrieved {} articles", articles.getItems().size());
+
+        return version.ok(ARTICLE_CACHE).body(articles);
     }
 
     @GetMapping("/{id}")
-    @Operation(summary = "Get article by ID", description = "Retrieve a specific article by its ID")
+    @Operation(summary = "Get article by ID", description = "Retrieve a specific article by its ID, with its full content. Supports If-None-Match and If-Modified-Since")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Article retrieved successfully",
                         content = @Content(mediaType = "application/json", schema = @Schema(implementation = ArticleResponse.class))),
+            @ApiResponse(responseCode = "304", description = "Article not modified"),
             @ApiResponse(responseCode = "404", description = "Article not found"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<ArticleResponse> getArticleById(@PathVariable Long id) {
+    public ResponseEntity<ArticleResponse> getArticleById(@PathVariable Long id, WebRequest webRequest) {
         log.info("Fetching article with ID: {}", id);
 
+        ResourceVersion version = articleService.getArticleVersion(id);
+        if (version.isNotModified(webRequest)) {
+            return version.notModified();
+        }
+
         ArticleResponse article = articleService.getArticleById(id);
-        return ResponseEntity.ok(article);
+        return version.ok(ARTICLE_CACHE).body(article);
     }
 
     @GetMapping("/my-articles")
-    @Operation(summary = "Get current user's articles", description = "Retrieve articles created by the authenticated user")
+    @Operation(summary = "Get current user's articles", description = "Retrieve a page of articles created by the authenticated user (newest first). Supports If-None-Match")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Articles retrieved successfully"),
+            @ApiResponse(responseCode = "304", description = "Page not modified since the given ETag"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor"),
             @ApiResponse(responseCode = "401", description = "Not authenticated"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<List<ArticleResponse>> getMyArticles(Authentication authentication) {
+    public ResponseEntity<CursorPageResponse<ArticleSummaryResponse>> getMyArticles(@RequestParam(required = false) String cursor,
+                                                                                    @RequestParam(required = false) Integer size,
+                                                                                    Authentication authentication,
+                                                                                    WebRequest webRequest) {
         User author = authenticationHelperService.getCurrentUser(authentication);
-        log.info("Fetching articles for user: {}", author.getUsername());
+        log.info("Fetching articles for user: {}", authentication.getName());
 
-        List<ArticleResponse> articles = articleService.getArticlesByAuthor(author);
-        log.info("Retrieved {} articles for user: {}", articles.size(), author.getUsername());
+        ResourceVersion version = articleService.getArticlesByAuthorVersion(author, cursor, size);
+        if (version.isNotModified(webRequest)) {
+            return version.notModified();
+        }
 
-        return ResponseEntity.ok(articles);
+        CursorPageResponse<ArticleSummaryResponse> articles = articleService.getArticlesByAuthor(author, cursor, size);
+        log.info("Retrieved {} articles for user: {}", articles.getItems().size(), authentication.getName());
+
+        return version.ok(ARTICLE_CACHE).body(articles);
     }
 
     @GetMapping("/by-theme/{themeId}")
-    @Operation(summary = "Get articles by theme", description = "Retrieve all articles for a specific theme")
+    @Operation(summary = "Get articles by theme", description = "Retrieve a page of articles for a specific theme (newest first). Supports If-None-Match")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Articles retrieved successfully"),
+            @ApiResponse(responseCode = "304", description = "Page not modified since the given ETag"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor"),
             @ApiResponse(responseCode = "404", description = "Theme not found"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<List<ArticleResponse>> getArticlesByTheme(@PathVariable Long themeId) {
+    public ResponseEntity<CursorPageResponse<ArticleSummaryResponse>> getArticlesByTheme(@PathVariable Long themeId,
+                                                                                         @RequestParam(required = false) String cursor,
+                                                                                         @RequestParam(required = false) Integer size,
+                                                                                         WebRequest webRequest) {
         log.info("Fetching articles for theme ID: {}", themeId);
 
-        List<ArticleResponse> articles = articleService.getArticlesByTheme(themeId);
-        log.info("Retrieved {} articles for theme ID: {}", articles.size(), themeId);
+        ResourceVersion version = articleService.getArticlesByThemeVersion(themeId, cursor, size);
+        if (version.isNotModified(webRequest)) {
+            return version.notModified();
+        }
+
+        CursorPageResponse<ArticleSummaryResponse> articles = articleService.getArticlesByTheme(themeId, cursor, size);
+        log.info("Retrieved {} articles for theme ID: {}", articles.getItems().size(), themeId);
 
-        return ResponseEntity.ok(articles);
+        return version.ok(ARTICLE_CACHE).body(articles);
     }
 
     @GetMapping("/search")
-    @Operation(summary = "Search articles", description = "Search articles by keyword in title or content")
+    @Operation(summary = "Search articles", description = "Full-text search in title and content, ranked by relevance (title matches weigh more). " +
+            "Matches every term; -term excludes one. With the default engine (app.search.engine=postgres), " +
+            "\"quoted phrases\" and OR are supported too; with app.search.engine=memory, quotes are ignored " +
+            "and OR is dropped, so their words are all required. Returns highlighted passages. " +
+            "mode=FUZZY tolerates typos instead, ranking by trigram similarity without query syntax or highlights")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Search completed successfully"),
-            @ApiResponse(responseCode = "400", description = "Invalid search parameter"),
+            @ApiResponse(responseCode = "400", description = "Invalid search parameter or mode"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<List<ArticleResponse>> searchArticles(@RequestParam String keyword) {
-        log.info("Searching articles with keyword: {}", keyword);
+    public ResponseEntity<SearchPageResponse<ArticleSearchHitResponse>> searchArticles(@RequestParam String keyword,
+                                                                                       @RequestParam(required = false) SearchMode mode,
+                                                                                       @RequestParam(required = false) Integer page,
+                                                                                       @RequestParam(required = false) Integer size) {
+        log.info("Searching articles with keyword: {}, mode: {}", keyword, mode);
 
-        List<ArticleResponse> articles = articleService.searchArticles(keyword);
-        log.info("Found {} articles matching keyword: {}", articles.size(), keyword);
+        SearchPageResponse<ArticleSearchHitResponse> results = articleSearchService.search(keyword, mode, page, size);
+        log.info("Found {} articles matching keyword: {}", results.getItems().size(), keyword);
 
-        return ResponseEntity.ok(articles);
+        return ResponseEntity.ok(results);
     }
 
     @PutMapping("/{id}")
@@ -149,7 +204,7 @@ public class ArticleController {
                                                        @Valid @RequestBody CreateArticleRequest request,
                                                        Authentication authentication) {
         User author = authenticationHelperService.getCurrentUser(authentication);
-        log.info("Updating article with ID: {} by user: {}", id, author.getUsername());
+        log.info("Updating article with ID: {} by user: {}", id, authentication.getName());
 
         ArticleResponse response = articleService.updateArticle(id, request, author);
         log.info("Article updated successfully with ID: {}", response.getId());
@@ -168,7 +223,7 @@ public class ArticleController {
     })
     public ResponseEntity<Void> deleteArticle(@PathVariable Long id, Authentication authentication) {
         User author = authenticationHelperService.getCurrentUser(authentication);
-        log.info("Deleting article with ID: {} by user: {}", id, author.getUsername());
+        log.info("Deleting article with ID: {} by user: {}", id, authentication.getName());
 
         articleService.deleteArticle(id, author);
         log.info("Article deleted successfully with ID: {}", id);
@@ -2,10 +2,13 @@ package com.openclassrooms.mddapi.controller;
 
 import com.openclassrooms.mddapi.dto.request.CreateCommentRequest;
 import com.openclassrooms.mddapi.dto.response.CommentResponse;
+import com.openclassrooms.mddapi.dto.response.CursorPageResponse;
 import com.openclassrooms.mddapi.model.User;
 import com.openclassrooms.mddapi.service.CommentService;
 import com.openclassrooms.mddapi.service.AuthenticationHelperService;
+import com.openclassrooms.mddapi.util.ResourceVersion;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -14,12 +17,16 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.List;
 
 @Slf4j
 @RestController
@@ -28,6 +35,12 @@ import java.util.List;
 @Tag(name = "Comments", description = "Comment management APIs")
 public class CommentController {
 
+    // Comment lists grow while people read: always revalidate
+    private static final CacheControl COMMENT_LIST_CACHE = CacheControl.noCache().cachePrivate();
+
+    // A comment can be deleted and its author renamed: revalidate too, a 304 costs one version query
+    private static final CacheControl COMMENT_CACHE = CacheControl.noCache().cachePrivate();
+
     @Autowired
     private CommentService commentService;
 
@@ -47,7 +60,7 @@ public class CommentController {
     public ResponseEntity<CommentResponse> createComment(@Valid @RequestBody CreateCommentRequest request,
                                                        Authentication authentication) {
         User user = authenticationHelperService.getCurrentUser(authentication);
-        log.info("Creating comment on article ID: {} by user: {}", request.getArticleId(), user.getUsername());
+        log.info("Creating comment on article ID: {} by user: {}", request.getArticleId(), authentication.getName());
 
         CommentResponse response = commentService.createComment(request, user);
         log.info("Comment created successfully with ID: {}", response.getId());
@@ -56,51 +69,129 @@ public class CommentController {
     }
 
     @GetMapping("/article/{articleId}")
-    @Operation(summary = "Get comments by article", description = "Retrieve all comments for a specific article")
+    @Operation(summary = "Get comments by article", description = "Retrieve a page of comments for a specific article, oldest first (sort=asc, default) or newest first (sort=desc). " +
+            "Pass the returned nextCursor to fetch the following page. Supports If-None-Match")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Comments retrieved successfully"),
+            @ApiResponse(responseCode = "304", description = "Page not modified since the given ETag"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or sort direction"),
+            @ApiResponse(responseCode = "404", description = "Article not found"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<CursorPageResponse<CommentResponse>> getCommentsByArticle(@PathVariable Long articleId,
+                                                                                    @RequestParam(required = false) String cursor,
+                                                                                    @RequestParam(required = false) Integer size,
+                                                                                    @RequestParam(defaultValue = "asc") String sort,
+                                                                                    WebRequest webRequest) {
+        Sort.Direction direction = Sort.Direction.fromString(sort);
+        log.info("Fetching comments page for article ID: {}", articleId);
+
+        // One query: the validators are derived from the page itself
+        CursorPageResponse<CommentResponse> comments = commentService.getCommentsByArticle(articleId, cursor, size, direction);
+        ResourceVersion version = commentService.getPageVersion(comments);
+        if (version.isNotModified(webRequest)) {
+            return version.notModified();
+        }
+
+        log.info("Retrieved {} comments for article ID: {}", comments.getItems().size(), articleId);
+
+        return version.ok(COMMENT_LIST_CACHE).body(comments);
+    }
+
+    @GetMapping("/article/{articleId}/stream")
+    @Operation(summary = "Stream comments by article", description = "Retrieve all comments for a specific article (oldest first) in one response, streamed as they are read. Supports If-None-Match")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Comments retrieved successfully",
+                        content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = CommentResponse.class)))),
+            @ApiResponse(responseCode = "304", description = "Comments not modified since the given ETag"),
             @ApiResponse(responseCode = "404", description = "Article not found"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<List<CommentResponse>> getCommentsByArticle(@PathVariable Long articleId) {
+    public ResponseEntity<StreamingResponseBody> streamCommentsByArticle(@PathVariable Long articleId, WebRequest webRequest) {
         log.info("Fetching comments for article ID: {}", articleId);
 
-        List<CommentResponse> comments = commentService.getCommentsByArticle(articleId);
-        log.info("Retrieved {} comments for article ID: {}", comments.size(), articleId);
+        // Also the existence check: a missing article fails here, before the 200 is committed
+        ResourceVersion version = commentService.getCommentsByArticleVersion(articleId);
+        if (version.isNotModified(webRequest)) {
+            return version.notModified();
+        }
 
-        return ResponseEntity.ok(comments);
+        StreamingResponseBody comments = out -> commentService.writeCommentsByArticle(articleId, out);
+        return version.ok(COMMENT_LIST_CACHE).contentType(MediaType.APPLICATION_JSON).body(comments);
     }
 
     @GetMapping("/{id}")
-    @Operation(summary = "Get comment by ID", description = "Retrieve a specific comment by its ID")
+    @Operation(summary = "Get comment by ID", description = "Retrieve a specific comment by its ID. Supports If-None-Match and If-Modified-Since")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Comment retrieved successfully",
                         content = @Content(mediaType = "application/json", schema = @Schema(implementation = CommentResponse.class))),
+            @ApiResponse(responseCode = "304", description = "Comment not modified"),
             @ApiResponse(responseCode = "404", description = "Comment not found"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<CommentResponse> getCommentById(@PathVariable Long id) {
+    public ResponseEntity<CommentResponse> getCommentById(@PathVariable Long id, WebRequest webRequest) {
         log.info("Fetching comment with ID: {}", id);
 
+        ResourceVersion version = commentService.getCommentVersion(id);
+        if (version.isNotModified(webRequest)) {
+            return version.notModified();
+        }
+
         CommentResponse comment = commentService.getCommentById(id);
-        return ResponseEntity.ok(comment);
+        return version.ok(COMMENT_CACHE).body(comment);
     }
 
     @GetMapping("/my-comments")
-    @Operation(summary = "Get current user's comments", description = "Retrieve comments created by the authenticated user")
+    @Operation(summary = "Get current user's comments", description = "Retrieve a page of comments created by the authenticated user, newest first (sort=desc, default) or oldest first (sort=asc). " +
+            "Pass the returned nextCursor to fetch the following page. Supports If-None-Match")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Comments retrieved successfully"),
+            @ApiResponse(responseCode = "304", description = "Page not modified since the given ETag"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or sort direction"),
             @ApiResponse(responseCode = "401", description = "Not authenticated"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<List<CommentResponse>> getMyComments(Authentication authentication) {
+    public ResponseEntity<CursorPageResponse<CommentResponse>> getMyComments(@RequestParam(required = false) String cursor,
+                                                                             @RequestParam(required = false) Integer size,
+                                                                             @RequestParam(defaultValue = "desc") String sort,
+                                                                             Authentication authentication,
+                                                                             WebRequest webRequest) {
         User user = authenticationHelperService.getCurrentUser(authentication);
-        log.info("Fetching comments for user: {}", user.getUsername());
+        Sort.Direction direction = Sort.Direction.fromString(sort);
+        log.info("Fetching comments page for user: {}", authentication.getName());
+
+        CursorPageResponse<CommentResponse> comments = commentService.getCommentsByUser(user, cursor, size, direction);
+        ResourceVersion version = commentService.getPageVersion(comments);
+        if (version.isNotModified(webRequest)) {
+            return version.notModified();
+        }
 
-        List<CommentResponse> comments = commentService.getCommentsByUser(user.getUsername());
-        log.info("Retrieved {} comments for user: {}", comments.size(), user.getUsername());
+        log.info("Retrieved {} comments for user: {}", comments.getItems().size(), authentication.getName());
+
+        return version.ok(COMMENT_LIST_CACHE).body(comments);
+    }
 
-        return ResponseEntity.ok(comments);
+    @GetMapping("/my-comments/stream")
+    @Operation(summary = "Stream current user's comments", description = "Retrieve all comments created by the authenticated user (newest first) in one response, streamed as they are read. Supports If-None-Match")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Comments retrieved successfully",
+                        content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = CommentResponse.class)))),
+            @ApiResponse(responseCode = "304", description = "Comments not modified since the given ETag"),
+            @ApiResponse(responseCode = "401", description = "Not authenticated"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<StreamingResponseBody> streamMyComments(Authentication authentication, WebRequest webRequest) {
+        // Only the id is read: the user row is not loaded
+        Long userId = authenticationHelperService.getCurrentUser(authentication).getId();
+        log.info("Fetching comments for user: {}", authentication.getName());
+
+        ResourceVersion version = commentService.getCommentsByUserVersion(userId);
+        if (version.isNotModified(webRequest)) {
+            return version.notModified();
+        }
+
+        StreamingResponseBody comments = out -> commentService.writeCommentsByUser(userId, out);
+        return version.ok(COMMENT_LIST_CACHE).contentType(MediaType.APPLICATION_JSON).body(comments);
     }
 
     @DeleteMapping("/{id}")
@@ -114,7 +205,7 @@ public class CommentController {
     })
     public ResponseEntity<Void> deleteComment(@PathVariable Long id, Authentication authentication) {
         User user = authenticationHelperService.getCurrentUser(authentication);
-        log.info("Deleting comment with ID: {} by user: {}", id, user.getUsername());
+        log.info("Deleting comment with ID: {} by user: {}", id, authentication.getName());
 
         commentService.deleteComment(id, user);
         log.info("Comment deleted successfully with ID: {}", id);
@@ -0,0 +1,69 @@
+package com.openclassrooms.mddapi.controller;
+
+import com.openclassrooms.mddapi.dto.response.ArticleSummaryResponse;
+import com.openclassrooms.mddapi.dto.response.CursorPageResponse;
+import com.openclassrooms.mddapi.model.User;
+import com.openclassrooms.mddapi.pagination.FeedPage;
+import com.openclassrooms.mddapi.service.AuthenticationHelperService;
+import com.openclassrooms.mddapi.service.FeedService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/feed")
+@CrossOrigin(origins = "*", maxAge = 3600)
+@Tag(name = "Feed", description = "Personalized article feed APIs")
+public class FeedController {
+
+    @Autowired
+    private FeedService feedService;
+
+    @Autowired
+    private AuthenticationHelperService authenticationHelperService;
+
+    @GetMapping
+    @Operation(summary = "Get personalized feed", description = "Retrieve a page of articles from the themes the authenticated user is subscribed to. Supports If-None-Match")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Feed retrieved successfully"),
+            @ApiResponse(responseCode = "304", description = "Feed page not modified since the given ETag"),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or sort direction"),
+            @ApiResponse(responseCode = "401", description = "Not authenticated"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<CursorPageResponse<ArticleSummaryResponse>> getFeed(@RequestParam(required = false) String cursor,
+                                                                              @RequestParam(required = false) Integer size,
+                                                                              @RequestParam(defaultValue = "desc") String sort,
+                                                                              Authentication authentication,
+                                                                              WebRequest webRequest) {
+        User user = authenticationHelperService.getCurrentUser(authentication);
+        Sort.Direction direction = Sort.Direction.fromString(sort);
+        log.info("Fetching feed for user: {}", authentication.getName());
+
+        FeedPage page = feedService.getFeedPage(user, cursor, size, direction);
+        String etag = page.getEtag();
+        if (webRequest.checkNotModified(etag)) {
+            log.debug("Feed page not modified for user: {}", authentication.getName());
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+        }
+
+        CursorPageResponse<ArticleSummaryResponse> feed = feedService.loadFeedPage(page);
+        log.info("Retrieved {} feed articles for user: {}", feed.getItems().size(), authentication.getName());
+
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(feed);
+    }
+}
@@ -0,0 +1,42 @@
+package com.openclassrooms.mddapi.controller;
+
+import com.openclassrooms.mddapi.dto.response.SuggestionResponse;
+import com.openclassrooms.mddapi.service.SuggestionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/suggest")
+@CrossOrigin(origins = "*", maxAge = 3600)
+@Tag(name = "Suggestions", description = "Typeahead APIs")
+public class SuggestionController {
+
+    @Autowired
+    private SuggestionService suggestionService;
+
+    @GetMapping
+    @Operation(summary = "Suggest completions", description = "Complete a prefix with article titles, theme names and usernames, most popular first. " +
+            "The prefix can match the start of any of the first words of a label. Restrict to one kind with type")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Suggestions retrieved successfully"),
+            @ApiResponse(responseCode = "400", description = "Blank prefix or unknown type"),
+            @ApiResponse(responseCode = "500", description = "Internal server error")
+    })
+    public ResponseEntity<List<SuggestionResponse>> suggest(@RequestParam String prefix,
+                                                            @RequestParam(required = false) SuggestionResponse.Type type,
+                                                            @RequestParam(required = false) Integer limit) {
+        // Called on every keystroke: keep it out of the info log
+        log.debug("Suggesting completions for prefix: {}", prefix);
+
+        return ResponseEntity.ok(suggestionService.suggest(prefix, type, limit));
+    }
+}
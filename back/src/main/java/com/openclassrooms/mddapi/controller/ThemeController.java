@@ -1,10 +1,13 @@
 package com.openclassrooms.mddapi.controller;
 
+import com.openclassrooms.mddapi.cache.ThemeCatalogSnapshot;
 import com.openclassrooms.mddapi.dto.request.CreateThemeRequest;
 import com.openclassrooms.mddapi.dto.response.ThemeResponse;
 import com.openclassrooms.mddapi.service.ThemeService;
 import com.openclassrooms.mddapi.service.SubscriptionService;
+import com.openclassrooms.mddapi.util.ResourceVersion;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -13,11 +16,15 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.security.core.Authentication;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.Duration;
 import java.util.List;
 
 @Slf4j
@@ -27,6 +34,9 @@ import java.util.List;
 @Tag(name = "Themes", description = "Theme management APIs")
 public class ThemeController {
 
+    // Themes rarely change: clients may reuse them for a minute before revalidating
+    private static final CacheControl THEME_CACHE = CacheControl.maxAge(Duration.ofMinutes(1)).cachePrivate().mustRevalidate();
+
     @Autowired
     private ThemeService themeService;
 
@@ -51,33 +61,46 @@ public class ThemeController {
     }
 
     @GetMapping
-    @Operation(summary = "Get all themes", description = "Retrieve all available themes")
+    @Operation(summary = "Get all themes", description = "Retrieve all available themes. Supports If-None-Match")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "200", description = "Themes retrieved successfully"),
+            @ApiResponse(responseCode = "200", description = "Themes retrieved successfully",
+                        content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = ThemeResponse.class)))),
+            @ApiResponse(responseCode = "304", description = "Themes not modified since the given ETag"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<List<ThemeResponse>> getAllThemes() {
+    public ResponseEntity<byte[]> getAllThemes(WebRequest webRequest) {
         log.info("Fetching all themes");
 
-        List<ThemeResponse> themes = themeService.getAllThemes();
-        log.info("Retrieved {} themes", themes.size());
+        // Validators and body from one snapshot; the body was serialized when the catalog was loaded
+        ThemeCatalogSnapshot catalog = themeService.getCatalog();
+        ResourceVersion version = catalog.getListVersion();
+        if (version.isNotModified(webRequest)) {
+            return version.notModified();
+        }
 
-        return ResponseEntity.ok(themes);
+        log.info("Retrieved {} themes", catalog.getThemes().size());
+        return version.ok(THEME_CACHE).contentType(MediaType.APPLICATION_JSON).body(catalog.getJson());
     }
 
     @GetMapping("/{id}")
-    @Operation(summary = "Get theme by ID", description = "Retrieve a specific theme by its ID")
+    @Operation(summary = "Get theme by ID", description = "Retrieve a specific theme by its ID. Supports If-None-Match and If-Modified-Since")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Theme retrieved successfully",
                         content = @Content(mediaType = "application/json", schema = @Schema(implementation = ThemeResponse.class))),
+            @ApiResponse(responseCode = "304", description = "Theme not modified"),
             @ApiResponse(responseCode = "404", description = "Theme not found"),
             @ApiResponse(responseCode = "500", description = "Internal server error")
     })
-    public ResponseEntity<ThemeResponse> getThemeById(@PathVariable Long id) {
+    public ResponseEntity<ThemeResponse> getThemeById(@PathVariable Long id, WebRequest webRequest) {
         log.info("Fetching theme with ID: {}", id);
 
+        ResourceVersion version = themeService.getThemeVersion(id);
+        if (version.isNotModified(webRequest)) {
+            return version.notModified();
+        }
+
         ThemeResponse theme = themeService.getThemeById(id);
-        return ResponseEntity.ok(theme);
+        return version.ok(THEME_CACHE).body(theme);
     }
 
     @PutMapping("/{id}")
@@ -0,0 +1,176 @@
+package com.openclassrooms.mddapi.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends read-only transactions to replica databases, everything else to the primary
+ * Replicas take turns; one lagging more than maxLagMs behind the primary, or failing, is skipped
+ * until a later checkLag() finds it caught up. The lag query returns NULL for a replica that stopped
+ * receiving changes, which is skipped too. With no usable replica, reads fall back to the primary.
+ * Must sit behind a LazyConnectionDataSourceProxy: the transaction is only known to be read-only
+ * once it has begun, after the transaction manager asked for its connection.
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends AbstractDataSource implements MeterBinder, AutoCloseable {
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final long maxLagMs;
+    private final String lagQuery;
+    private final AtomicInteger turn = new AtomicInteger();
+    private Counter fallbacks;
+
+    public ReplicaRoutingDataSource(DataSource primary, List<Replica> replicas, long maxLagMs, String lagQuery) {
+        if (replicas.isEmpty()) {
+            throw new IllegalArgumentException("Replica routing needs at least one replica");
+        }
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.maxLagMs = maxLagMs;
+        this.lagQuery = lagQuery;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return primary.getConnection();
+        }
+
+        int start = Math.floorMod(turn.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (!replica.healthy) {
+                continue;
+            }
+            try {
+                return replica.dataSource.getConnection();
+            } catch (SQLException e) {
+                // Out of rotation until the next lag check reaches it again
+                replica.healthy = false;
+                log.warn("Replica {} unavailable, routing reads elsewhere: {}", replica.name, e.getMessage());
+            }
+        }
+
+        if (fallbacks != null) {
+            fallbacks.increment();
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new UnsupportedOperationException("Replica routing uses the configured credentials of each pool");
+    }
+
+    /**
+     * Measure each replica's replay lag and put it in or out of the read rotation
+     */
+    public void checkLag() {
+        for (Replica replica : replicas) {
+            boolean healthy;
+            try (Connection connection = replica.dataSource.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery(lagQuery)) {
+                rs.next();
+                double lagSeconds = rs.getDouble(1);
+                if (rs.wasNull()) {
+                    // Not replicating: however small the lag looks, it grows unseen
+                    replica.lagMs = -1;
+                    healthy = false;
+                } else {
+                    replica.lagMs = Math.round(lagSeconds * 1000);
+                    healthy = replica.lagMs <= maxLagMs;
+                }
+            } catch (SQLException e) {
+                replica.lagMs = -1;
+                healthy = false;
+            }
+
+            if (healthy != replica.healthy) {
+                if (healthy) {
+                    log.info("Replica {} back in the read rotation, lag {} ms", replica.name, replica.lagMs);
+                } else {
+                    log.warn("Replica {} out of the read rotation, lag {} ms (max {} ms)", replica.name, replica.lagMs, maxLagMs);
+                }
+            }
+            replica.healthy = healthy;
+        }
+    }
+
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (Replica replica : replicas) {
+            Gauge.builder("db.replica.lag", replica, r -> r.lagMs)
+                    .description("Replay lag of the replica at the last check, -1 when unreachable or not replicating")
+                    .baseUnit("milliseconds")
+                    .tag("name", replica.name)
+                    .register(registry);
+            Gauge.builder("db.replica.healthy", replica, r -> r.healthy ? 1 : 0)
+                    .description("1 while the replica takes read-only transactions")
+                    .tag("name", replica.name)
+                    .register(registry);
+        }
+        fallbacks = Counter.builder("db.replica.fallbacks")
+                .description("Read-only transactions sent to the primary because no replica was usable")
+                .register(registry);
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (Replica replica : replicas) {
+            DataSource pool = replica.dataSource instanceof DelegatingDataSource delegating
+                    ? delegating.getTargetDataSource()
+                    : replica.dataSource;
+            if (pool instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    /**
+     * A replica pool, out of the rotation until its first lag check
+     */
+    public static final class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean healthy;
+        private volatile long lagMs = -1;
+
+        public Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public boolean isHealthy() {
+            return healthy;
+        }
+
+        public long getLagMs() {
+            return lagMs;
+        }
+    }
+}
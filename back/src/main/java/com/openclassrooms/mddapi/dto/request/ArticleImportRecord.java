@@ -0,0 +1,37 @@
+package com.openclassrooms.mddapi.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One line of an NDJSON article import
+ * Lines of the article export are accepted as is: their id and extra fields are ignored, a new id is allocated.
+ * Missing dates default to the import time.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArticleImportRecord {
+
+    @NotBlank(message = "Title is mandatory")
+    @Size(max = 200, message = "Title must not exceed 200 characters")
+    private String title;
+
+    @NotBlank(message = "Content is mandatory")
+    private String content;
+
+    @NotNull(message = "Author ID is mandatory")
+    private Long authorId;
+
+    @NotNull(message = "Theme ID is mandatory")
+    private Long themeId;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
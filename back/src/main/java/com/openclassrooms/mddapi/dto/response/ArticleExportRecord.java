@@ -0,0 +1,27 @@
+package com.openclassrooms.mddapi.dto.response;
+
+import lombok.Data;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One line of the NDJSON article export: the full article with its author, theme and comment count
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ArticleExportRecord {
+
+    private Long id;
+    private String title;
+    private String content;
+    private Long authorId;
+    private String authorUsername;
+    private Long themeId;
+    private String themeName;
+    private int commentsCount;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
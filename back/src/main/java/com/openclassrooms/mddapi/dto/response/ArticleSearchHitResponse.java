@@ -0,0 +1,19 @@
+package com.openclassrooms.mddapi.dto.response;
+
+import lombok.Data;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+
+/**
+ * Search result: the article summary, the matching passages and the relevance score
+ * headline is HTML-escaped text where the matched terms are wrapped in <mark> tags
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ArticleSearchHitResponse {
+
+    private ArticleSummaryResponse article;
+    private String headline;
+    private double rank;
+}
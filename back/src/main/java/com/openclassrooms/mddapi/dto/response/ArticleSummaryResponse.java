@@ -0,0 +1,61 @@
+package com.openclassrooms.mddapi.dto.response;
+
+import lombok.Data;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Article list item: the body is replaced by a short excerpt, full content comes from GET /api/articles/{id}
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ArticleSummaryResponse {
+
+    public static final int EXCERPT_LENGTH = 200;
+
+    // Queries select one extra character so toExcerpt can tell whether the content was cut
+    public static final int EXCERPT_FETCH_LENGTH = EXCERPT_LENGTH + 1;
+
+    private static final String ELLIPSIS = "…";
+
+    private Long id;
+    private String title;
+    private String excerpt;
+    private String authorUsername;
+    private ThemeResponse theme;
+    private int commentsCount;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    // Constructor used by JPQL projections: flat columns and a content prefix, no entity hydration
+    public ArticleSummaryResponse(Long id, String title, String contentPrefix, String authorUsername,
+                                  Long themeId, String themeName, String themeDescription,
+                                  LocalDateTime themeCreatedAt, LocalDateTime themeUpdatedAt,
+                                  Integer commentsCount, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this(id, title, toExcerpt(contentPrefix), authorUsername,
+                new ThemeResponse(themeId, themeName, themeDescription, themeCreatedAt, themeUpdatedAt),
+                commentsCount, createdAt, updatedAt);
+    }
+
+    /**
+     * Cut content to EXCERPT_LENGTH characters, on a word boundary when one is close, and mark the cut
+     */
+    public static String toExcerpt(String content) {
+        if (content == null || content.length() <= EXCERPT_LENGTH) {
+            return content;
+        }
+
+        int end = EXCERPT_LENGTH;
+        if (Character.isHighSurrogate(content.charAt(end - 1))) {
+            end--;
+        }
+        int lastSpace = content.lastIndexOf(' ', end);
+        if (lastSpace > EXCERPT_LENGTH * 3 / 4) {
+            end = lastSpace;
+        }
+        return content.substring(0, end).stripTrailing() + ELLIPSIS;
+    }
+}
@@ -0,0 +1,24 @@
+package com.openclassrooms.mddapi.dto.response;
+
+import lombok.Data;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * One line of the NDJSON comment export
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CommentExportRecord {
+
+    private Long id;
+    private Long articleId;
+    private Long authorId;
+    private String authorUsername;
+    private String content;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
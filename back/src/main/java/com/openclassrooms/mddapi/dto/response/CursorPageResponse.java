@@ -0,0 +1,46 @@
+package com.openclassrooms.mddapi.dto.response;
+
+import com.openclassrooms.mddapi.pagination.Cursor;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * One page of a keyset-paginated list
+ * nextCursor is null when there is no further page
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CursorPageResponse<T> {
+
+    private List<T> items;
+    private String nextCursor;
+    private boolean hasNext;
+
+    /**
+     * Build a page from rows fetched with a limit of size + 1
+     * The extra row only tells whether another page exists and is not returned
+     */
+    public static <T> CursorPageResponse<T> of(List<T> rows, int size, Function<T, Cursor> cursorOf) {
+        boolean hasNext = rows.size() > size;
+        List<T> items = hasNext ? rows.subList(0, size) : rows;
+        String nextCursor = hasNext ? cursorOf.apply(items.get(items.size() - 1)).encode() : null;
+        return new CursorPageResponse<>(items, nextCursor, hasNext);
+    }
+
+    /**
+     * Convert the items of this page, keeping its cursor
+     */
+    public <R> CursorPageResponse<R> map(Function<T, R> mapper) {
+        return new CursorPageResponse<>(
+                items.stream().map(mapper).collect(Collectors.toList()),
+                nextCursor,
+                hasNext);
+    }
+}
@@ -0,0 +1,20 @@
+package com.openclassrooms.mddapi.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of a bulk import
+ * Skipped lines were invalid or referenced an author or theme that does not exist.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ImportResponse {
+
+    private long imported;
+    private long skipped;
+    private long elapsedMs;
+    private long rowsPerSecond;
+}
@@ -0,0 +1,22 @@
+package com.openclassrooms.mddapi.dto.response;
+
+import lombok.Data;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of ranked results
+ * Ranked lists have no stable keyset, so search pages are numbered from 0
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SearchPageResponse<T> {
+
+    private List<T> items;
+    private int page;
+    private int size;
+    private boolean hasNext;
+}
@@ -0,0 +1,20 @@
+package com.openclassrooms.mddapi.dto.response;
+
+import lombok.Data;
+import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
+
+/**
+ * Typeahead completion: what kind of object it is, its id and the label to display
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SuggestionResponse {
+
+    public enum Type { ARTICLE, THEME, USER }
+
+    private Type type;
+    private Long id;
+    private String label;
+}
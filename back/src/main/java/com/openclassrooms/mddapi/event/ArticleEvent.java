@@ -0,0 +1,40 @@
+package com.openclassrooms.mddapi.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published by ArticleServiceImpl inside the write transaction
+ * Listeners that maintain derived data (timelines) react after commit
+ */
+@Getter
+@AllArgsConstructor
+public class ArticleEvent {
+
+    public enum Type { CREATED, UPDATED, DELETED, COMMENTS_CHANGED }
+
+    private final Type type;
+    private final Long articleId;
+    private final Long themeId;
+
+    // Theme before an update, equal to themeId when the theme did not change
+    private final Long previousThemeId;
+
+    public boolean isThemeChanged() {
+        return !themeId.equals(previousThemeId);
+    }
+
+    /**
+     * Whether the article itself was written, as opposed to only its comments
+     */
+    public boolean changesArticle() {
+        return type != Type.COMMENTS_CHANGED;
+    }
+
+    /**
+     * Whether subscriber timelines have to be rewritten: a new article, or one moved to another theme
+     */
+    public boolean affectsTimelines() {
+        return type == Type.CREATED || (type == Type.UPDATED && isThemeChanged());
+    }
+}
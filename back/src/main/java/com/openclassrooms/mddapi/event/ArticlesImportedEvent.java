@@ -0,0 +1,21 @@
+package com.openclassrooms.mddapi.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Set;
+
+/**
+ * Published by ImportServiceImpl once a bulk import has committed
+ * Imported rows publish no ArticleEvent: derived data (buffer, search index, suggestions) is rebuilt at once instead.
+ * Imported articles are not fanned out one by one: the timelines of the imported themes are backfilled instead.
+ */
+@Getter
+@AllArgsConstructor
+public class ArticlesImportedEvent {
+
+    private final long count;
+
+    // Themes that received at least one article
+    private final Set<Long> themeIds;
+}
@@ -6,21 +6,26 @@ import jakarta.validation.constraints.Size;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
-import org.hibernate.annotations.CreationTimestamp;
-import org.hibernate.annotations.UpdateTimestamp;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "articles")
+@Table(name = "articles", indexes = {
+    @Index(name = "idx_articles_created_at_id", columnList = "created_at, id"),
+    @Index(name = "idx_articles_theme_created_at_id", columnList = "theme_id, created_at, id"),
+    @Index(name = "idx_articles_user_created_at_id", columnList = "user_id, created_at, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Article {
 
+    // Pooled sequence: ids are handed out in blocks, so inserts can be batched (IDENTITY disables JDBC batching)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "articles_id_seq")
+    @SequenceGenerator(name = "articles_id_seq", sequenceName = "articles_id_seq", allocationSize = 50)
     @Column(name = "id", nullable = false, updatable = false)
     private Long id;
 
@@ -44,11 +49,17 @@ public class Article {
     @OneToMany(mappedBy = "article", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Comment> comments;
 
-    @CreationTimestamp
+    // Denormalized counter, only changed through ArticleRepository atomic updates
+    @ColumnDefault("0")
+    @Column(name = "comments_count", nullable = false, updatable = false)
+    private int commentsCount;
+
+    @Column(name = "last_activity_at", updatable = false)
+    private LocalDateTime lastActivityAt;
+
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
-    @UpdateTimestamp
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
@@ -59,10 +70,16 @@ public class Article {
         this.theme = theme;
     }
 
+    // Dates already set are kept: the bulk import preserves the original ones
     @PrePersist
     protected void onCreate() {
-        createdAt = LocalDateTime.now();
-        updatedAt = LocalDateTime.now();
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+        if (updatedAt == null) {
+            updatedAt = createdAt;
+        }
+        lastActivityAt = createdAt;
     }
 
     @PreUpdate
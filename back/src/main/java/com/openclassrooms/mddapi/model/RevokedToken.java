@@ -0,0 +1,44 @@
+package com.openclassrooms.mddapi.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * A token revoked by logout on any instance, kept until the token itself expires
+ * Only the 128-bit revocation key is stored, never the token. Every instance holds the unexpired
+ * rows in memory; the table is there for instances that start later.
+ */
+@Entity
+@Table(name = "revoked_tokens", indexes = {
+    @Index(name = "idx_revoked_tokens_expires_at", columnList = "expires_at")
+})
+@IdClass(RevokedToken.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevokedToken {
+
+    @Id
+    @Column(name = "key_high", nullable = false)
+    private Long keyHigh;
+
+    @Id
+    @Column(name = "key_low", nullable = false)
+    private Long keyLow;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long keyHigh;
+        private Long keyLow;
+    }
+}
@@ -0,0 +1,60 @@
+package com.openclassrooms.mddapi.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * One row of a user's materialized feed, written by the fan-out stage when an article is published
+ * theme_id and created_at are copied from the article so a feed page is a range scan on
+ * (user_id, created_at, article_id) without touching articles
+ */
+@Entity
+@Table(name = "user_timelines", indexes = {
+    @Index(name = "idx_user_timelines_user_created_at", columnList = "user_id, created_at, article_id"),
+    @Index(name = "idx_user_timelines_article_id", columnList = "article_id")
+})
+@IdClass(TimelineEntry.Key.class)
+@Data
+@NoArgsConstructor
+public class TimelineEntry {
+
+    @Id
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Id
+    @Column(name = "article_id", nullable = false)
+    private Long articleId;
+
+    @Column(name = "theme_id", nullable = false)
+    private Long themeId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // Mapped only for the foreign keys: rows go away with their user or article
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", insertable = false, updatable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private User user;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "article_id", insertable = false, updatable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Article article;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long userId;
+        private Long articleId;
+    }
+}
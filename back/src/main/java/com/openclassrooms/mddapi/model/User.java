@@ -7,6 +7,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.NaturalId;
 import org.hibernate.annotations.UpdateTimestamp;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -17,16 +18,21 @@ import java.util.Collections;
 
 @Entity
 @Table(name = "users")
+// Not in the second-level cache: it holds credentials, and a local cache would keep an old password
+// or email authenticating on the other instances after a change
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class User implements UserDetails {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_id_seq")
+    @SequenceGenerator(name = "users_id_seq", sequenceName = "users_id_seq", allocationSize = 50)
     @Column(name = "id", nullable = false, updatable = false)
     private Long id;
     
+    // Mutable: a profile update may change it
+    @NaturalId(mutable = true)
     @Column(unique = true, nullable = false)
     private String email;
     
@@ -0,0 +1,24 @@
+package com.openclassrooms.mddapi.pagination;
+
+import com.openclassrooms.mddapi.dto.response.ArticleSummaryResponse;
+import com.openclassrooms.mddapi.dto.response.CursorPageResponse;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Resolved feed page: the ordered article ids with their cursor, and the ETag of those rows
+ * Lets the controller answer 304 before any article body is loaded
+ */
+@Getter
+@AllArgsConstructor
+public class FeedPage {
+
+    private final CursorPageResponse<Long> articleIds;
+    private final String etag;
+
+    // Already resolved from the in-memory buffer, null when the bodies still have to be loaded
+    private final List<ArticleSummaryResponse> articles;
+}
@@ -0,0 +1,30 @@
+package com.openclassrooms.mddapi.pagination;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Resolves the page size requested by clients against the configured bounds
+ */
+@Component
+public class PageSizePolicy {
+
+    @Value("${app.pagination.default-size:20}")
+    private int defaultSize;
+
+    @Value("${app.pagination.max-size:100}")
+    private int maxSize;
+
+    /**
+     * Resolve the effective page size
+     *
+     * @param requested Page size requested by the client, may be null
+     * @return Size between 1 and the configured maximum
+     */
+    public int resolve(Integer requested) {
+        if (requested == null || requested < 1) {
+            return defaultSize;
+        }
+        return Math.min(requested, maxSize);
+    }
+}
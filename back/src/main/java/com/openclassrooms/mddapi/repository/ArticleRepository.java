@@ -1,29 +1,257 @@
 package com.openclassrooms.mddapi.repository;
 
+import com.openclassrooms.mddapi.cache.ArticleSummary;
+import com.openclassrooms.mddapi.dto.response.ArticleExportRecord;
+import com.openclassrooms.mddapi.dto.response.ArticleSummaryResponse;
 import com.openclassrooms.mddapi.model.Article;
 import com.openclassrooms.mddapi.model.Theme;
 import com.openclassrooms.mddapi.model.User;
+import com.openclassrooms.mddapi.repository.projection.ArticleKey;
+import com.openclassrooms.mddapi.repository.projection.ArticleText;
+import com.openclassrooms.mddapi.repository.projection.SuggestionSource;
+import com.openclassrooms.mddapi.repository.projection.ArticleVersion;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+/**
+ * Article persistence
+ * List queries are keyset-paginated on (createdAt, id): the redundant "createdAt <= :createdAt"
+ * predicate lets PostgreSQL start the index range scan at the cursor instead of filtering from the top.
+ * They project straight into ArticleSummaryResponse (author, theme and comment count in the same statement)
+ * so a page costs a single round trip whatever its size.
+ * The feed resolves page keys first (ArticleKey) and then loads versions or bodies by id,
+ * so the ETag and the body always describe the same rows.
+ * comments_count is a denormalized counter maintained by atomic increments and repaired by reconcileCommentsCount.
+ */
 @Repository
 public interface ArticleRepository extends JpaRepository<Article, Long> {
 
+    // Only the excerpt's worth of the TEXT column leaves the database
+    String CONTENT_PREFIX = "SUBSTRING(a.content, 1, " + ArticleSummaryResponse.EXCERPT_FETCH_LENGTH + ")";
+
+    String ARTICLE_LIST_SELECT =
+            "SELECT new com.openclassrooms.mddapi.dto.response.ArticleSummaryResponse(" +
+            "a.id, a.title, " + CONTENT_PREFIX + ", u.username, " +
+            "t.id, t.name, t.description, t.createdAt, t.updatedAt, " +
+            "a.commentsCount, " +
+            "a.createdAt, a.updatedAt) " +
+            "FROM Article a JOIN a.author u JOIN a.theme t ";
+
+    String OLDER_THAN_CURSOR = "a.createdAt <= :createdAt AND (a.createdAt < :createdAt OR a.id < :id) ";
+
+    String NEWEST_FIRST = "ORDER BY a.createdAt DESC, a.id DESC";
+
+    String NEWER_THAN_CURSOR = "a.createdAt >= :createdAt AND (a.createdAt > :createdAt OR a.id > :id) ";
+
+    String OLDEST_FIRST = "ORDER BY a.createdAt ASC, a.id ASC";
+
+    String SUBSCRIBED_BY_USER = "JOIN Subscription s ON s.theme.id = a.theme.id WHERE s.user.id = :userId ";
+
+    String ARTICLE_SUMMARY_SELECT =
+            "SELECT new com.openclassrooms.mddapi.cache.ArticleSummary(" +
+            "a.id, a.title, " + CONTENT_PREFIX + ", u.username, u.updatedAt, " +
+            "t.id, t.name, t.description, t.createdAt, t.updatedAt, " +
+            "a.commentsCount, a.lastActivityAt, a.createdAt, a.updatedAt) " +
+            "FROM Article a JOIN a.author u JOIN a.theme t ";
+
+    String ARTICLE_KEY_SELECT = "SELECT a.id AS id, a.createdAt AS createdAt FROM Article a ";
+
+    String ARTICLE_VERSION_SELECT =
+            "SELECT a.id AS id, a.updatedAt AS updatedAt, a.lastActivityAt AS lastActivityAt, " +
+            "a.commentsCount AS commentsCount, t.updatedAt AS themeUpdatedAt, u.updatedAt AS authorUpdatedAt " +
+            "FROM Article a JOIN a.author u JOIN a.theme t ";
+
     List<Article> findByAuthor(User author);
 
     List<Article> findByTheme(Theme theme);
 
-    List<Article> findByThemeOrderByCreatedAtDesc(Theme theme);
+    @Query(ARTICLE_LIST_SELECT + NEWEST_FIRST)
+    List<ArticleSummaryResponse> findFirstPage(Pageable pageable);
+
+    @Query(ARTICLE_LIST_SELECT + "WHERE " + OLDER_THAN_CURSOR + NEWEST_FIRST)
+    List<ArticleSummaryResponse> findPageAfter(@Param("createdAt") LocalDateTime createdAt,
+                                               @Param("id") Long id,
+                                               Pageable pageable);
+
+    @Query(ARTICLE_LIST_SELECT + "WHERE t.id = :themeId " + NEWEST_FIRST)
+    List<ArticleSummaryResponse> findFirstPageByTheme(@Param("themeId") Long themeId, Pageable pageable);
+
+    @Query(ARTICLE_LIST_SELECT + "WHERE t.id = :themeId AND " + OLDER_THAN_CURSOR + NEWEST_FIRST)
+    List<ArticleSummaryResponse> findPageByThemeAfter(@Param("themeId") Long themeId,
+                                                      @Param("createdAt") LocalDateTime createdAt,
+                                                      @Param("id") Long id,
+                                                      Pageable pageable);
+
+    @Query(ARTICLE_LIST_SELECT + "WHERE u.id = :authorId " + NEWEST_FIRST)
+    List<ArticleSummaryResponse> findFirstPageByAuthor(@Param("authorId") Long authorId, Pageable pageable);
+
+    @Query(ARTICLE_LIST_SELECT + "WHERE u.id = :authorId AND " + OLDER_THAN_CURSOR + NEWEST_FIRST)
+    List<ArticleSummaryResponse> findPageByAuthorAfter(@Param("authorId") Long authorId,
+                                                       @Param("createdAt") LocalDateTime createdAt,
+                                                       @Param("id") Long id,
+                                                       Pageable pageable);
+
+    @Query(ARTICLE_SUMMARY_SELECT + "WHERE t.id = :themeId " + NEWEST_FIRST)
+    List<ArticleSummary> findSummariesByTheme(@Param("themeId") Long themeId, Pageable pageable);
+
+    @Query(ARTICLE_SUMMARY_SELECT + "WHERE a.id = :id")
+    Optional<ArticleSummary> findSummaryById(@Param("id") Long id);
+
+    @Query(ARTICLE_LIST_SELECT + "WHERE a.id IN :ids")
+    List<ArticleSummaryResponse> findSummaryResponsesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(ARTICLE_VERSION_SELECT + "WHERE a.id IN :ids")
+    List<ArticleVersion> findVersionsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(ARTICLE_VERSION_SELECT + "WHERE a.id = :id")
+    Optional<ArticleVersion> findVersionById(@Param("id") Long id);
+
+    // Versions of exactly the rows the matching list query returns, for conditional GETs
+
+    @Query(ARTICLE_VERSION_SELECT + NEWEST_FIRST)
+    List<ArticleVersion> findVersionsFirstPage(Pageable pageable);
+
+    @Query(ARTICLE_VERSION_SELECT + "WHERE " + OLDER_THAN_CURSOR + NEWEST_FIRST)
+    List<ArticleVersion> findVersionsPageAfter(@Param("createdAt") LocalDateTime createdAt,
+                                               @Param("id") Long id,
+                                               Pageable pageable);
+
+    @Query(ARTICLE_VERSION_SELECT + "WHERE t.id = :themeId " + NEWEST_FIRST)
+    List<ArticleVersion> findVersionsFirstPageByTheme(@Param("themeId") Long themeId, Pageable pageable);
+
+    @Query(ARTICLE_VERSION_SELECT + "WHERE t.id = :themeId AND " + OLDER_THAN_CURSOR + NEWEST_FIRST)
+    List<ArticleVersion> findVersionsPageByThemeAfter(@Param("themeId") Long themeId,
+                                                      @Param("createdAt") LocalDateTime createdAt,
+                                                      @Param("id") Long id,
+                                                      Pageable pageable);
+
+    @Query(ARTICLE_VERSION_SELECT + "WHERE u.id = :authorId " + NEWEST_FIRST)
+    List<ArticleVersion> findVersionsFirstPageByAuthor(@Param("authorId") Long authorId, Pageable pageable);
+
+    @Query(ARTICLE_VERSION_SELECT + "WHERE u.id = :authorId AND " + OLDER_THAN_CURSOR + NEWEST_FIRST)
+    List<ArticleVersion> findVersionsPageByAuthorAfter(@Param("authorId") Long authorId,
+                                                       @Param("createdAt") LocalDateTime createdAt,
+                                                       @Param("id") Long id,
+                                                       Pageable pageable);
+
+    @Query(ARTICLE_KEY_SELECT + SUBSCRIBED_BY_USER + NEWEST_FIRST)
+    List<ArticleKey> findFeedKeysFirstPageNewest(@Param("userId") Long userId, Pageable pageable);
+
+    @Query(ARTICLE_KEY_SELECT + SUBSCRIBED_BY_USER + "AND " + OLDER_THAN_CURSOR + NEWEST_FIRST)
+    List<ArticleKey> findFeedKeysNewestAfter(@Param("userId") Long userId,
+                                             @Param("createdAt") LocalDateTime createdAt,
+                                             @Param("id") Long id,
+                                             Pageable pageable);
+
+    @Query(ARTICLE_KEY_SELECT + SUBSCRIBED_BY_USER + OLDEST_FIRST)
+    List<ArticleKey> findFeedKeysFirstPageOldest(@Param("userId") Long userId, Pageable pageable);
+
+    @Query(ARTICLE_KEY_SELECT + SUBSCRIBED_BY_USER + "AND " + NEWER_THAN_CURSOR + OLDEST_FIRST)
+    List<ArticleKey> findFeedKeysOldestAfter(@Param("userId") Long userId,
+                                             @Param("createdAt") LocalDateTime createdAt,
+                                             @Param("id") Long id,
+                                             Pageable pageable);
+
+    @Query(ARTICLE_KEY_SELECT + "WHERE a.theme.id IN :themeIds " + NEWEST_FIRST)
+    List<ArticleKey> findKeysByThemesFirstPageNewest(@Param("themeIds") Collection<Long> themeIds, Pageable pageable);
+
+    @Query(ARTICLE_KEY_SELECT + "WHERE a.theme.id IN :themeIds AND " + OLDER_THAN_CURSOR + NEWEST_FIRST)
+    List<ArticleKey> findKeysByThemesNewestAfter(@Param("themeIds") Collection<Long> themeIds,
+                                                 @Param("createdAt") LocalDateTime createdAt,
+                                                 @Param("id") Long id,
+                                                 Pageable pageable);
+
+    @Query(ARTICLE_KEY_SELECT + "WHERE a.theme.id IN :themeIds " + OLDEST_FIRST)
+    List<ArticleKey> findKeysByThemesFirstPageOldest(@Param("themeIds") Collection<Long> themeIds, Pageable pageable);
+
+    @Query(ARTICLE_KEY_SELECT + "WHERE a.theme.id IN :themeIds AND " + NEWER_THAN_CURSOR + OLDEST_FIRST)
+    List<ArticleKey> findKeysByThemesOldestAfter(@Param("themeIds") Collection<Long> themeIds,
+                                                 @Param("createdAt") LocalDateTime createdAt,
+                                                 @Param("id") Long id,
+                                                 Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE Article a SET a.commentsCount = a.commentsCount + 1, a.lastActivityAt = :activityAt WHERE a.id = :id")
+    int incrementCommentsCount(@Param("id") Long id, @Param("activityAt") LocalDateTime activityAt);
+
+    @Modifying
+    @Query("UPDATE Article a SET a.commentsCount = a.commentsCount - 1 WHERE a.id = :id AND a.commentsCount > 0")
+    int decrementCommentsCount(@Param("id") Long id);
+
+    @Query("SELECT MIN(a.id) FROM Article a")
+    Long findMinId();
+
+    @Query("SELECT MAX(a.id) FROM Article a")
+    Long findMaxId();
+
+    /**
+     * Every article after afterId in id order, read from a database cursor for the NDJSON export
+     * Must be consumed, then closed, inside a transaction
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.openclassrooms.mddapi.dto.response.ArticleExportRecord(" +
+           "a.id, a.title, a.content, u.id, u.username, t.id, t.name, a.commentsCount, a.createdAt, a.updatedAt) " +
+           "FROM Article a JOIN a.author u JOIN a.theme t " +
+           "WHERE a.id > :afterId ORDER BY a.id ASC")
+    Stream<ArticleExportRecord> streamExportAfter(@Param("afterId") Long afterId);
+
+    @Query("SELECT a.id AS id, a.title AS title, a.content AS content FROM Article a WHERE a.id >= :fromId AND a.id < :toId")
+    List<ArticleText> findTextsByIdRange(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    @Query("SELECT a.id AS id, a.title AS title, a.content AS content FROM Article a WHERE a.id = :id")
+    Optional<ArticleText> findTextById(@Param("id") Long id);
+
+    // Typeahead: titles ranked by number of comments
+    @Query("SELECT a.id AS id, a.title AS label, a.commentsCount AS weight FROM Article a")
+    List<SuggestionSource> findSuggestionSources();
 
-    List<Article> findByAuthorOrderByCreatedAtDesc(User author);
+    @Query("SELECT a.id AS id, a.title AS label, a.commentsCount AS weight FROM Article a WHERE a.id = :id")
+    Optional<SuggestionSource> findSuggestionSourceById(@Param("id") Long id);
 
-    @Query("SELECT a FROM Article a ORDER BY a.createdAt DESC")
-    List<Article> findAllOrderByCreatedAtDesc();
+    /**
+     * Lock the articles with id in [fromId, toId) until the end of the transaction
+     * Comment writes increment or decrement the counter under this lock, so once it is held every comment
+     * either committed already or will apply its change on top of the recomputed count.
+     * NO KEY UPDATE, like the counter updates: the key share locks of comment inserts (foreign key checks) go through.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    @Query(value = "SELECT id FROM articles WHERE id >= :fromId AND id < :toId ORDER BY id FOR NO KEY UPDATE", nativeQuery = true)
+    List<Long> lockRange(@Param("fromId") long fromId, @Param("toId") long toId);
 
-    @Query("SELECT a FROM Article a WHERE a.title LIKE %:keyword% OR a.content LIKE %:keyword% ORDER BY a.createdAt DESC")
-    List<Article> findByTitleContainingOrContentContainingOrderByCreatedAtDesc(@Param("keyword") String keyword);
-}
\ No newline at end of file
+    /**
+     * Recompute comments_count for articles with id in [fromId, toId) and rewrite only drifted rows
+     * Must run after lockRange, in the same transaction and as a separate statement: its snapshot then
+     * includes every comment whose counter change committed while the lock was awaited
+     */
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE articles a " +
+                   "SET comments_count = counts.total, " +
+                   "    last_activity_at = COALESCE(a.last_activity_at, GREATEST(a.created_at, counts.last_comment_at)) " +
+                   "FROM (SELECT ar.id, COUNT(c.id) AS total, MAX(c.created_at) AS last_comment_at " +
+                   "      FROM articles ar LEFT JOIN comments c ON c.article_id = ar.id " +
+                   "      WHERE ar.id >= :fromId AND ar.id < :toId " +
+                   "      GROUP BY ar.id) counts " +
+                   "WHERE a.id = counts.id " +
+                   "AND (a.comments_count <> counts.total OR a.last_activity_at IS NULL)",
+           nativeQuery = true)
+    int reconcileCommentsCount(@Param("fromId") long fromId, @Param("toId") long toId);
+}
@@ -0,0 +1,81 @@
+package com.openclassrooms.mddapi.repository;
+
+import com.openclassrooms.mddapi.model.Article;
+import com.openclassrooms.mddapi.repository.projection.ArticleSearchRow;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.Repository;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+/**
+ * Article search queries backed by the indexes created in db/schema.sql
+ * Full-text search matches articles.search_vector through its GIN index. Only the requested page is
+ * ranked into the result and passed to ts_headline, which re-parses the content and is the expensive part.
+ * Highlights are delimited with U+E000 / U+E001 so the service can escape the text before marking it up.
+ */
+public interface ArticleSearchRepository extends Repository<Article, Long> {
+
+    @Query(value = "WITH q AS (SELECT websearch_to_tsquery('french', :query) AS query), " +
+                   "hits AS (" +
+                   "    SELECT a.id, ts_rank(a.search_vector, q.query) AS rank " +
+                   "    FROM articles a, q " +
+                   "    WHERE a.search_vector @@ q.query " +
+                   "    ORDER BY rank DESC, a.id DESC " +
+                   "    LIMIT :limit OFFSET :offset) " +
+                   "SELECT a.id AS id, a.title AS title, substring(a.content, 1, :prefixLength) AS contentPrefix, " +
+                   "       u.username AS authorUsername, " +
+                   "       t.id AS themeId, t.name AS themeName, t.description AS themeDescription, " +
+                   "       t.created_at AS themeCreatedAt, t.updated_at AS themeUpdatedAt, " +
+                   "       a.comments_count AS commentsCount, a.created_at AS createdAt, a.updated_at AS updatedAt, " +
+                   "       ts_headline('french', a.content, q.query, " +
+                   "           'StartSel=\uE000, StopSel=\uE001, MaxFragments=2, MaxWords=30, MinWords=10') AS headline, " +
+                   "       hits.rank AS rank " +
+                   "FROM hits " +
+                   "JOIN articles a ON a.id = hits.id " +
+                   "JOIN users u ON u.id = a.user_id " +
+                   "JOIN themes t ON t.id = a.theme_id " +
+                   "CROSS JOIN q " +
+                   "ORDER BY hits.rank DESC, a.id DESC",
+           nativeQuery = true)
+    List<ArticleSearchRow> search(@Param("query") String query,
+                                  @Param("prefixLength") int prefixLength,
+                                  @Param("limit") int limit,
+                                  @Param("offset") int offset);
+
+    /**
+     * Typo-tolerant search with pg_trgm: an article matches when the query is close to a run of words of its
+     * title or content (word_similarity above pg_trgm.word_similarity_threshold, 0.6 by default).
+     * The trigram GIN indexes return at most candidateLimit matches, in no particular order, and only those
+     * are scored, so the cost stays bounded however many articles share trigrams with a short query.
+     * Title similarity counts fully, content similarity at 80%. No headline: the caller uses the excerpt.
+     */
+    @Query(value = "WITH candidates AS (" +
+                   "    SELECT a.id, GREATEST(word_similarity(:query, a.title), " +
+                   "                          0.8 * word_similarity(:query, a.content)) AS rank " +
+                   "    FROM articles a " +
+                   "    WHERE :query <% a.title OR :query <% a.content " +
+                   "    LIMIT :candidateLimit), " +
+                   "hits AS (" +
+                   "    SELECT id, rank FROM candidates " +
+                   "    ORDER BY rank DESC, id DESC " +
+                   "    LIMIT :limit OFFSET :offset) " +
+                   "SELECT a.id AS id, a.title AS title, substring(a.content, 1, :prefixLength) AS contentPrefix, " +
+                   "       u.username AS authorUsername, " +
+                   "       t.id AS themeId, t.name AS themeName, t.description AS themeDescription, " +
+                   "       t.created_at AS themeCreatedAt, t.updated_at AS themeUpdatedAt, " +
+                   "       a.comments_count AS commentsCount, a.created_at AS createdAt, a.updated_at AS updatedAt, " +
+                   "       NULL AS headline, " +
+                   "       hits.rank AS rank " +
+                   "FROM hits " +
+                   "JOIN articles a ON a.id = hits.id " +
+                   "JOIN users u ON u.id = a.user_id " +
+                   "JOIN themes t ON t.id = a.theme_id " +
+                   "ORDER BY hits.rank DESC, a.id DESC",
+           nativeQuery = true)
+    List<ArticleSearchRow> fuzzySearch(@Param("query") String query,
+                                       @Param("candidateLimit") int candidateLimit,
+                                       @Param("prefixLength") int prefixLength,
+                                       @Param("limit") int limit,
+                                       @Param("offset") int offset);
+}
@@ -2,23 +2,141 @@ package com.openclassrooms.mddapi.repository;
 
 import com.openclassrooms.mddapi.model.Article;
 import com.openclassrooms.mddapi.model.Comment;
+import com.openclassrooms.mddapi.dto.response.CommentExportRecord;
+import com.openclassrooms.mddapi.dto.response.CommentResponse;
+import com.openclassrooms.mddapi.repository.projection.ListVersion;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
 
+    // A comment shows its author's username, so a renamed author counts as an update
+    String LAST_UPDATED_AT = "CASE WHEN u.updatedAt > c.updatedAt THEN u.updatedAt ELSE c.updatedAt END";
+
+    String LIST_VERSION_SELECT = "SELECT COUNT(c.id) AS count, MAX(" + LAST_UPDATED_AT + ") AS lastUpdatedAt ";
+
+    String COMMENT_RESPONSE_SELECT =
+            "SELECT new com.openclassrooms.mddapi.dto.response.CommentResponse(" +
+            "c.id, c.content, u.username, c.article.id, c.createdAt, c.updatedAt) " +
+            "FROM Comment c JOIN c.author u ";
+
+    // Rows pulled from the database cursor per round trip when streaming
+    String STREAM_FETCH_SIZE = "200";
+
+    // Keyset pagination on (createdAt, id), same shape as the article lists
+    String OLDER_THAN_CURSOR = "c.createdAt <= :createdAt AND (c.createdAt < :createdAt OR c.id < :id) ";
+
+    String NEWER_THAN_CURSOR = "c.createdAt >= :createdAt AND (c.createdAt > :createdAt OR c.id > :id) ";
+
+    String OLDEST_FIRST = "ORDER BY c.createdAt ASC, c.id ASC";
+
+    String NEWEST_FIRST = "ORDER BY c.createdAt DESC, c.id DESC";
+
     List<Comment> findByArticle(Article article);
 
     List<Comment> findByArticleOrderByCreatedAtAsc(Article article);
 
     List<Comment> findByAuthor_Username(String username);
 
+    // Pages of a thread, author username joined in the same statement: one query per page
+
+    @Query(COMMENT_RESPONSE_SELECT + "WHERE c.article.id = :articleId " + OLDEST_FIRST)
+    List<CommentResponse> findFirstPageOldestByArticleId(@Param("articleId") Long articleId, Pageable pageable);
+
+    @Query(COMMENT_RESPONSE_SELECT + "WHERE c.article.id = :articleId AND " + NEWER_THAN_CURSOR + OLDEST_FIRST)
+    List<CommentResponse> findPageOldestByArticleIdAfter(@Param("articleId") Long articleId,
+                                                         @Param("createdAt") LocalDateTime createdAt,
+                                                         @Param("id") Long id,
+                                                         Pageable pageable);
+
+    @Query(COMMENT_RESPONSE_SELECT + "WHERE c.article.id = :articleId " + NEWEST_FIRST)
+    List<CommentResponse> findFirstPageNewestByArticleId(@Param("articleId") Long articleId, Pageable pageable);
+
+    @Query(COMMENT_RESPONSE_SELECT + "WHERE c.article.id = :articleId AND " + OLDER_THAN_CURSOR + NEWEST_FIRST)
+    List<CommentResponse> findPageNewestByArticleIdAfter(@Param("articleId") Long articleId,
+                                                         @Param("createdAt") LocalDateTime createdAt,
+                                                         @Param("id") Long id,
+                                                         Pageable pageable);
+
+    // Pages of a user's comments
+
+    @Query(COMMENT_RESPONSE_SELECT + "WHERE u.id = :userId " + OLDEST_FIRST)
+    List<CommentResponse> findFirstPageOldestByAuthorId(@Param("userId") Long userId, Pageable pageable);
+
+    @Query(COMMENT_RESPONSE_SELECT + "WHERE u.id = :userId AND " + NEWER_THAN_CURSOR + OLDEST_FIRST)
+    List<CommentResponse> findPageOldestByAuthorIdAfter(@Param("userId") Long userId,
+                                                        @Param("createdAt") LocalDateTime createdAt,
+                                                        @Param("id") Long id,
+                                                        Pageable pageable);
+
+    @Query(COMMENT_RESPONSE_SELECT + "WHERE u.id = :userId " + NEWEST_FIRST)
+    List<CommentResponse> findFirstPageNewestByAuthorId(@Param("userId") Long userId, Pageable pageable);
+
+    @Query(COMMENT_RESPONSE_SELECT + "WHERE u.id = :userId AND " + OLDER_THAN_CURSOR + NEWEST_FIRST)
+    List<CommentResponse> findPageNewestByAuthorIdAfter(@Param("userId") Long userId,
+                                                        @Param("createdAt") LocalDateTime createdAt,
+                                                        @Param("id") Long id,
+                                                        Pageable pageable);
+
+    /**
+     * Comments of an article projected row by row from a database cursor, oldest first
+     * No entity is attached to the persistence context, so memory does not grow with the thread.
+     * Must be consumed, then closed, inside a transaction.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(COMMENT_RESPONSE_SELECT + "WHERE c.article.id = :articleId ORDER BY c.createdAt ASC, c.id ASC")
+    Stream<CommentResponse> streamByArticleId(@Param("articleId") Long articleId);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(COMMENT_RESPONSE_SELECT + "WHERE c.author.id = :authorId ORDER BY c.createdAt DESC, c.id DESC")
+    Stream<CommentResponse> streamByAuthorId(@Param("authorId") Long authorId);
+
+    /**
+     * Every comment after afterId in id order, read from a database cursor for the NDJSON export
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT new com.openclassrooms.mddapi.dto.response.CommentExportRecord(" +
+           "c.id, c.article.id, u.id, u.username, c.content, c.createdAt, c.updatedAt) " +
+           "FROM Comment c JOIN c.author u " +
+           "WHERE c.id > :afterId ORDER BY c.id ASC")
+    Stream<CommentExportRecord> streamExportAfter(@Param("afterId") Long afterId);
+
     @Query("SELECT c FROM Comment c WHERE c.article = :article ORDER BY c.createdAt ASC")
     List<Comment> findByArticleOrderByCreatedAt(Article article);
 
     long countByArticle(Article article);
+
+    // Validators for conditional GETs, computed without loading any comment
+
+    @Query(LIST_VERSION_SELECT +
+           "FROM Article a LEFT JOIN Comment c ON c.article = a LEFT JOIN c.author u " +
+           "WHERE a.id = :articleId GROUP BY a.id")
+    Optional<ListVersion> findListVersionByArticleId(@Param("articleId") Long articleId);
+
+    @Query(LIST_VERSION_SELECT + "FROM Comment c JOIN c.author u WHERE c.author.id = :authorId")
+    ListVersion findListVersionByAuthorId(@Param("authorId") Long authorId);
+
+    @Query("SELECT " + LAST_UPDATED_AT + " FROM Comment c JOIN c.author u WHERE c.id = :id")
+    Optional<LocalDateTime> findLastUpdatedAtById(@Param("id") Long id);
 }
\ No newline at end of file
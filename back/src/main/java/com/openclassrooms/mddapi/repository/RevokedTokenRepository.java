@@ -0,0 +1,47 @@
+package com.openclassrooms.mddapi.repository;
+
+import com.openclassrooms.mddapi.model.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Cluster-wide token revocations (revoked_tokens)
+ * Every method runs on the primary: a replica may not have a revocation notified a moment ago.
+ */
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, RevokedToken.Key> {
+
+    /**
+     * Store a revocation and notify every listening instance, in one statement and one transaction
+     * The notification is only delivered once the row is committed, and only when the row is new.
+     *
+     * @return 1 when the revocation was stored, 0 when it already was
+     */
+    @Transactional
+    @Query(value = "WITH inserted AS (" +
+                   "    INSERT INTO revoked_tokens (key_high, key_low, expires_at) VALUES (:high, :low, :expiresAt) " +
+                   "    ON CONFLICT DO NOTHING RETURNING 1) " +
+                   "SELECT count(pg_notify(:channel, :payload)) FROM inserted",
+           nativeQuery = true)
+    long revokeAndNotify(@Param("high") long high,
+                         @Param("low") long low,
+                         @Param("expiresAt") Instant expiresAt,
+                         @Param("channel") String channel,
+                         @Param("payload") String payload);
+
+    @Transactional
+    @Query("SELECT r FROM RevokedToken r WHERE r.expiresAt > :now")
+    List<RevokedToken> findUnexpired(@Param("now") Instant now);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM RevokedToken r WHERE r.expiresAt <= :now")
+    int deleteExpired(@Param("now") Instant now);
+}
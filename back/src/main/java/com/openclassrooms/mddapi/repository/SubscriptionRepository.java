@@ -21,6 +21,12 @@ public interface SubscriptionRepository extends JpaRepository<Subscription, Long
     @Query("SELECT s.theme.id FROM Subscription s WHERE s.user = :user")
     List<Long> findThemeIdsByUser(@Param("user") User user);
 
+    @Query("SELECT s.theme.id FROM Subscription s WHERE s.user.id = :userId")
+    List<Long> findThemeIdsByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT s.theme.id FROM Subscription s GROUP BY s.theme.id HAVING COUNT(s) > :threshold")
+    List<Long> findThemeIdsWithMoreSubscribersThan(@Param("threshold") long threshold);
+
     boolean existsByUserAndTheme(User user, Theme theme);
 
     void deleteByUserAndTheme(User user, Theme theme);
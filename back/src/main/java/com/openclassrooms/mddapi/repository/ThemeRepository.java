@@ -1,15 +1,40 @@
 package com.openclassrooms.mddapi.repository;
 
 import com.openclassrooms.mddapi.model.Theme;
+import com.openclassrooms.mddapi.repository.projection.SuggestionSource;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
 public interface ThemeRepository extends JpaRepository<Theme, Long> {
 
+    String SUGGESTION_SELECT =
+            "SELECT t.id AS id, t.name AS label, COUNT(s.id) AS weight " +
+            "FROM Theme t LEFT JOIN Subscription s ON s.theme = t ";
+
     Optional<Theme> findByName(String name);
 
     boolean existsByName(String name);
+
+    // Every theme for the ThemeCatalog; not query-cached, the catalog is the cache and its reloads must see other instances' writes
+    @Query("SELECT t FROM Theme t ORDER BY t.id")
+    List<Theme> findAllForCatalog();
+
+    // Typeahead: names ranked by number of subscribers
+    @Query(SUGGESTION_SELECT + "GROUP BY t.id, t.name")
+    List<SuggestionSource> findSuggestionSources();
+
+    @Query(SUGGESTION_SELECT + "WHERE t.id = :id GROUP BY t.id, t.name")
+    Optional<SuggestionSource> findSuggestionSourceById(@Param("id") Long id);
+
+    // Bulk import: which of the referenced themes exist
+    @Query("SELECT t.id FROM Theme t WHERE t.id IN :ids")
+    Set<Long> findExistingIds(@Param("ids") Collection<Long> ids);
 }
\ No newline at end of file
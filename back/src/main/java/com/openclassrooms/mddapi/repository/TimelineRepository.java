@@ -0,0 +1,128 @@
+package com.openclassrooms.mddapi.repository;
+
+import com.openclassrooms.mddapi.model.TimelineEntry;
+import com.openclassrooms.mddapi.repository.projection.ArticleKey;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Materialized per-user feed (user_timelines)
+ * Writes are set-based native statements so a fan-out is one INSERT ... SELECT whatever the subscriber count,
+ * and ON CONFLICT DO NOTHING makes every write idempotent against retries and overlapping backfills.
+ * Reads return keys only, walking idx_user_timelines_user_created_at from the cursor.
+ */
+@Repository
+public interface TimelineRepository extends JpaRepository<TimelineEntry, TimelineEntry.Key> {
+
+    String TIMELINE_KEY_SELECT =
+            "SELECT e.articleId AS id, e.createdAt AS createdAt FROM TimelineEntry e " +
+            "WHERE e.userId = :userId AND e.themeId NOT IN :excludedThemeIds ";
+
+    String OLDER_THAN_CURSOR = "AND e.createdAt <= :createdAt AND (e.createdAt < :createdAt OR e.articleId < :id) ";
+
+    String NEWEST_FIRST = "ORDER BY e.createdAt DESC, e.articleId DESC";
+
+    String NEWER_THAN_CURSOR = "AND e.createdAt >= :createdAt AND (e.createdAt > :createdAt OR e.articleId > :id) ";
+
+    String OLDEST_FIRST = "ORDER BY e.createdAt ASC, e.articleId ASC";
+
+    @Query(TIMELINE_KEY_SELECT + NEWEST_FIRST)
+    List<ArticleKey> findFirstPageNewest(@Param("userId") Long userId,
+                                         @Param("excludedThemeIds") Collection<Long> excludedThemeIds,
+                                         Pageable pageable);
+
+    @Query(TIMELINE_KEY_SELECT + OLDER_THAN_CURSOR + NEWEST_FIRST)
+    List<ArticleKey> findPageNewestAfter(@Param("userId") Long userId,
+                                         @Param("excludedThemeIds") Collection<Long> excludedThemeIds,
+                                         @Param("createdAt") LocalDateTime createdAt,
+                                         @Param("id") Long id,
+                                         Pageable pageable);
+
+    @Query(TIMELINE_KEY_SELECT + OLDEST_FIRST)
+    List<ArticleKey> findFirstPageOldest(@Param("userId") Long userId,
+                                         @Param("excludedThemeIds") Collection<Long> excludedThemeIds,
+                                         Pageable pageable);
+
+    @Query(TIMELINE_KEY_SELECT + NEWER_THAN_CURSOR + OLDEST_FIRST)
+    List<ArticleKey> findPageOldestAfter(@Param("userId") Long userId,
+                                         @Param("excludedThemeIds") Collection<Long> excludedThemeIds,
+                                         @Param("createdAt") LocalDateTime createdAt,
+                                         @Param("id") Long id,
+                                         Pageable pageable);
+
+    /**
+     * Push one article into the timeline of every subscriber of its theme
+     * The subscriptions are read FOR KEY SHARE: an unsubscription in progress is waited for and then skipped,
+     * and one that comes later waits for this insert, so its prune sees the rows
+     */
+    @Modifying
+    @Query(value = "INSERT INTO user_timelines (user_id, article_id, theme_id, created_at) " +
+                   "SELECT s.user_id, a.id, a.theme_id, a.created_at " +
+                   "FROM articles a JOIN subscriptions s ON s.theme_id = a.theme_id " +
+                   "WHERE a.id = :articleId " +
+                   "FOR KEY SHARE OF s " +
+                   "ON CONFLICT DO NOTHING",
+           nativeQuery = true)
+    int fanOut(@Param("articleId") Long articleId);
+
+    /**
+     * Copy the latest articles of a theme into one user's timeline after they subscribe
+     */
+    @Modifying
+    @Query(value = "INSERT INTO user_timelines (user_id, article_id, theme_id, created_at) " +
+                   "SELECT :userId, a.id, a.theme_id, a.created_at " +
+                   "FROM articles a WHERE a.theme_id = :themeId " +
+                   "ORDER BY a.created_at DESC, a.id DESC LIMIT :limit " +
+                   "ON CONFLICT DO NOTHING",
+           nativeQuery = true)
+    int backfill(@Param("userId") Long userId, @Param("themeId") Long themeId, @Param("limit") int limit);
+
+    /**
+     * Rebuild missing timelines from the subscriptions, keeping the latest articles of each subscribed theme
+     */
+    @Modifying
+    @Query(value = "INSERT INTO user_timelines (user_id, article_id, theme_id, created_at) " +
+                   "SELECT s.user_id, a.id, a.theme_id, a.created_at " +
+                   "FROM subscriptions s CROSS JOIN LATERAL (" +
+                   "    SELECT ar.id, ar.theme_id, ar.created_at FROM articles ar " +
+                   "    WHERE ar.theme_id = s.theme_id " +
+                   "    ORDER BY ar.created_at DESC, ar.id DESC LIMIT :limit) a " +
+                   "ON CONFLICT DO NOTHING",
+           nativeQuery = true)
+    int backfillAll(@Param("limit") int limit);
+
+    /**
+     * Copy the latest articles of a theme into the timeline of all its subscribers
+     * Used when a theme drops back under the fan-out threshold
+     */
+    @Modifying
+    @Query(value = "INSERT INTO user_timelines (user_id, article_id, theme_id, created_at) " +
+                   "SELECT s.user_id, a.id, a.theme_id, a.created_at " +
+                   "FROM subscriptions s CROSS JOIN LATERAL (" +
+                   "    SELECT ar.id, ar.theme_id, ar.created_at FROM articles ar " +
+                   "    WHERE ar.theme_id = s.theme_id " +
+                   "    ORDER BY ar.created_at DESC, ar.id DESC LIMIT :limit) a " +
+                   "WHERE s.theme_id = :themeId " +
+                   "ON CONFLICT DO NOTHING",
+           nativeQuery = true)
+    int backfillTheme(@Param("themeId") Long themeId, @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "DELETE FROM user_timelines WHERE user_id = :userId AND theme_id = :themeId", nativeQuery = true)
+    int prune(@Param("userId") Long userId, @Param("themeId") Long themeId);
+
+    @Modifying
+    @Query(value = "DELETE FROM user_timelines WHERE article_id = :articleId", nativeQuery = true)
+    int removeArticle(@Param("articleId") Long articleId);
+
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM user_timelines)", nativeQuery = true)
+    boolean existsAny();
+}
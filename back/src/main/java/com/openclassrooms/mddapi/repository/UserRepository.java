@@ -1,16 +1,26 @@
 package com.openclassrooms.mddapi.repository;
 
 import com.openclassrooms.mddapi.model.User;
+import com.openclassrooms.mddapi.repository.projection.SuggestionSource;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
-    
-    Optional<User> findByEmail(String email);
-    
+public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
+
+    String SUGGESTION_SELECT =
+            "SELECT u.id AS id, u.username AS label, COUNT(a.id) AS weight " +
+            "FROM User u LEFT JOIN Article a ON a.author = u ";
+
+    // findByEmail is a cached natural-id lookup, see UserRepositoryCustom
+
     Optional<User> findByUsername(String username);
     
     boolean existsByEmail(String email);
@@ -18,4 +28,15 @@ public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByUsername(String username);
 
     Optional<User> findByEmailOrUsername(String email, String username);
+
+    // Typeahead: usernames ranked by number of articles written
+    @Query(SUGGESTION_SELECT + "GROUP BY u.id, u.username")
+    List<SuggestionSource> findSuggestionSources();
+
+    @Query(SUGGESTION_SELECT + "WHERE u.id = :id GROUP BY u.id, u.username")
+    Optional<SuggestionSource> findSuggestionSourceById(@Param("id") Long id);
+
+    // Bulk import: which of the referenced authors exist
+    @Query("SELECT u.id FROM User u WHERE u.id IN :ids")
+    Set<Long> findExistingIds(@Param("ids") Collection<Long> ids);
 }
\ No newline at end of file
@@ -0,0 +1,16 @@
+package com.openclassrooms.mddapi.repository;
+
+import com.openclassrooms.mddapi.model.User;
+
+import java.util.Optional;
+
+/**
+ * UserRepository methods implemented by hand rather than derived from their name
+ */
+public interface UserRepositoryCustom {
+
+    /**
+     * Natural-id lookup: answered from the persistence context when the user is already loaded in it
+     */
+    Optional<User> findByEmail(String email);
+}
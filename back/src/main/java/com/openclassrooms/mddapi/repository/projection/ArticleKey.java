@@ -0,0 +1,14 @@
+package com.openclassrooms.mddapi.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Keyset position of an article in a list: enough to order, merge and paginate
+ * before any article body is loaded
+ */
+public interface ArticleKey {
+
+    Long getId();
+
+    LocalDateTime getCreatedAt();
+}
@@ -0,0 +1,37 @@
+package com.openclassrooms.mddapi.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * One ranked full-text search hit, as returned by the native search query
+ */
+public interface ArticleSearchRow {
+
+    Long getId();
+
+    String getTitle();
+
+    String getContentPrefix();
+
+    String getAuthorUsername();
+
+    Long getThemeId();
+
+    String getThemeName();
+
+    String getThemeDescription();
+
+    LocalDateTime getThemeCreatedAt();
+
+    LocalDateTime getThemeUpdatedAt();
+
+    Integer getCommentsCount();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getUpdatedAt();
+
+    String getHeadline();
+
+    Double getRank();
+}
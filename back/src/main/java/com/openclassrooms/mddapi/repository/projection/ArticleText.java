@@ -0,0 +1,13 @@
+package com.openclassrooms.mddapi.repository.projection;
+
+/**
+ * Searchable text of an article, read when (re)building the in-memory search index
+ */
+public interface ArticleText {
+
+    Long getId();
+
+    String getTitle();
+
+    String getContent();
+}
@@ -0,0 +1,44 @@
+package com.openclassrooms.mddapi.repository.projection;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+/**
+ * Narrow projection of the columns that change what an article list row looks like
+ * Used to derive ETags without loading article bodies
+ */
+public interface ArticleVersion {
+
+    Long getId();
+
+    LocalDateTime getUpdatedAt();
+
+    LocalDateTime getLastActivityAt();
+
+    // Not implied by lastActivityAt: deleting a comment only decrements the counter
+    Integer getCommentsCount();
+
+    LocalDateTime getThemeUpdatedAt();
+
+    LocalDateTime getAuthorUpdatedAt();
+
+    /**
+     * All of the above in one string, the per-row input of list ETags
+     */
+    default String fingerprint() {
+        return getId() + ":" + getUpdatedAt() + ":" + getLastActivityAt() + ":" + getCommentsCount() + ":"
+                + getThemeUpdatedAt() + ":" + getAuthorUpdatedAt();
+    }
+
+    /**
+     * Latest of the timestamps above, the Last-Modified of a response showing this row
+     */
+    default LocalDateTime lastModified() {
+        return Stream.of(getUpdatedAt(), getLastActivityAt(), getThemeUpdatedAt(), getAuthorUpdatedAt())
+                .filter(Objects::nonNull)
+                .max(Comparator.naturalOrder())
+                .orElse(null);
+    }
+}
@@ -0,0 +1,13 @@
+package com.openclassrooms.mddapi.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * High-water mark of a list: any insert, delete or edit changes the count or the latest update
+ */
+public interface ListVersion {
+
+    Long getCount();
+
+    LocalDateTime getLastUpdatedAt();
+}
@@ -0,0 +1,13 @@
+package com.openclassrooms.mddapi.repository.projection;
+
+/**
+ * A label offered by the typeahead and the popularity it is ranked by
+ */
+public interface SuggestionSource {
+
+    Long getId();
+
+    String getLabel();
+
+    Long getWeight();
+}
@@ -0,0 +1,31 @@
+package com.openclassrooms.mddapi.search;
+
+import com.openclassrooms.mddapi.dto.response.ArticleSearchHitResponse;
+
+import java.util.List;
+
+/**
+ * A way of ranking articles against a free-text query
+ * Engines only rank and decorate hits; paging rules and engine choice live in ArticleSearchServiceImpl
+ */
+public interface ArticleSearchEngine {
+
+    /**
+     * Name used to select the engine in app.search.engine
+     */
+    String getName();
+
+    /**
+     * Whether the engine can answer queries yet (an in-memory index may still be building)
+     */
+    boolean isReady();
+
+    /**
+     * Ranked hits, best match first
+     *
+     * @param query  Free text typed by the user, never blank
+     * @param limit  Maximum number of hits to return
+     * @param offset Number of best hits to skip
+     */
+    List<ArticleSearchHitResponse> search(String query, int limit, int offset);
+}
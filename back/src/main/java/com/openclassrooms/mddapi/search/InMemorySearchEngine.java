@@ -0,0 +1,226 @@
+package com.openclassrooms.mddapi.search;
+
+import com.openclassrooms.mddapi.dto.response.ArticleSearchHitResponse;
+import com.openclassrooms.mddapi.dto.response.ArticleSummaryResponse;
+import com.openclassrooms.mddapi.event.ArticleEvent;
+import com.openclassrooms.mddapi.event.ArticlesImportedEvent;
+import com.openclassrooms.mddapi.repository.ArticleRepository;
+import com.openclassrooms.mddapi.repository.projection.ArticleText;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.util.HtmlUtils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.stream.Collectors;
+
+/**
+ * Ranked search on an in-process BM25 inverted index (app.search.engine=memory)
+ * The index is built in parallel at startup and kept current after each committed article write;
+ * changes committed while it builds are queued and replayed once it is in place.
+ * Queries are all-terms matches where -term excludes a term. Phrases and OR are not supported: quotes are
+ * dropped with the punctuation and "or" with the stop words, so their words are simply all required.
+ * Terms are not stemmed. The database is only hit to load the summaries of the returned page.
+ */
+@Component
+@ConditionalOnProperty(name = "app.search.engine", havingValue = InMemorySearchEngine.NAME)
+@Slf4j
+public class InMemorySearchEngine implements ArticleSearchEngine {
+
+    public static final String NAME = "memory";
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Value("${app.search.memory.build-parallelism:4}")
+    private int buildParallelism;
+
+    @Value("${app.search.memory.chunk-size:1000}")
+    private int chunkSize;
+
+    private volatile InvertedIndex index;
+
+    // Guarded by this: articles written while the index is being built
+    private final Set<Long> pending = new LinkedHashSet<>();
+    private boolean building;
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public boolean isReady() {
+        return index != null;
+    }
+
+    // Also rebuilt after a bulk import, whose rows publish no ArticleEvent
+    @EventListener({ApplicationReadyEvent.class, ArticlesImportedEvent.class})
+    public void build() {
+        synchronized (this) {
+            building = true;
+        }
+
+        long start = System.currentTimeMillis();
+        InvertedIndex built = new InvertedIndex();
+        Long minId = articleRepository.findMinId();
+        Long maxId = articleRepository.findMaxId();
+        if (minId != null) {
+            ForkJoinPool pool = new ForkJoinPool(buildParallelism);
+            try {
+                pool.invoke(new BuildTask(minId, maxId + 1)).forEach(built::add);
+            } finally {
+                pool.shutdown();
+            }
+        }
+        index = built;
+        log.info("Search index built: {} articles in {} ms", built.size(), System.currentTimeMillis() - start);
+
+        Set<Long> queued;
+        synchronized (this) {
+            queued = new LinkedHashSet<>(pending);
+            pending.clear();
+            building = false;
+        }
+        queued.forEach(this::reindex);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true,
+            condition = "#event.changesArticle()")
+    public void onArticleEvent(ArticleEvent event) {
+        synchronized (this) {
+            if (building) {
+                pending.add(event.getArticleId());
+                return;
+            }
+        }
+        if (index != null) {
+            reindex(event.getArticleId());
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ArticleSearchHitResponse> search(String query, int limit, int offset) {
+        Set<String> required = new LinkedHashSet<>();
+        Set<String> excluded = new LinkedHashSet<>();
+        for (String word : query.split("\\s+")) {
+            if (word.startsWith("-")) {
+                excluded.addAll(Tokenizer.tokenize(word.substring(1)));
+            } else {
+                required.addAll(Tokenizer.tokenize(word));
+            }
+        }
+
+        List<InvertedIndex.Hit> hits = index.search(required, excluded, offset + limit);
+        if (hits.size() <= offset) {
+            return List.of();
+        }
+        List<InvertedIndex.Hit> page = hits.subList(offset, hits.size());
+
+        Map<Long, ArticleSummaryResponse> articles = articleRepository
+                .findSummaryResponsesByIdIn(page.stream().map(InvertedIndex.Hit::articleId).toList())
+                .stream()
+                .collect(Collectors.toMap(ArticleSummaryResponse::getId, Function.identity()));
+
+        // An article deleted since it was ranked is simply left out of the page
+        List<ArticleSearchHitResponse> results = new ArrayList<>(page.size());
+        for (InvertedIndex.Hit hit : page) {
+            ArticleSummaryResponse article = articles.get(hit.articleId());
+            if (article != null) {
+                results.add(new ArticleSearchHitResponse(article, highlight(article.getExcerpt(), required), hit.score()));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Re-read one article and replace or drop its postings
+     * Serialized so two reindexes of the same article cannot apply an older read last
+     */
+    private synchronized void reindex(Long articleId) {
+        try {
+            Optional<ArticleText> text = articleRepository.findTextById(articleId);
+            if (text.isPresent()) {
+                index.add(toDocument(text.get()));
+            } else {
+                index.remove(articleId);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Search index update failed for article {}", articleId, e);
+        }
+    }
+
+    private static InvertedIndex.Document toDocument(ArticleText text) {
+        return InvertedIndex.Document.of(text.getId(), text.getTitle(), text.getContent());
+    }
+
+    /**
+     * Escape the excerpt and wrap the words matching a query term in <mark> tags
+     */
+    private static String highlight(String excerpt, Set<String> terms) {
+        if (excerpt == null) {
+            return "";
+        }
+
+        StringBuilder headline = new StringBuilder(excerpt.length() + 32);
+        Matcher matcher = Tokenizer.WORD.matcher(excerpt);
+        int last = 0;
+        while (matcher.find()) {
+            if (terms.contains(Tokenizer.normalize(matcher.group()))) {
+                headline.append(HtmlUtils.htmlEscape(excerpt.substring(last, matcher.start())))
+                        .append("<mark>")
+                        .append(HtmlUtils.htmlEscape(matcher.group()))
+                        .append("</mark>");
+                last = matcher.end();
+            }
+        }
+        return headline.append(HtmlUtils.htmlEscape(excerpt.substring(last))).toString();
+    }
+
+    /**
+     * Tokenizes the articles with id in [fromId, toId), splitting the range until it fits in one chunk
+     */
+    private class BuildTask extends RecursiveTask<List<InvertedIndex.Document>> {
+
+        private final long fromId;
+        private final long toId;
+
+        BuildTask(long fromId, long toId) {
+            this.fromId = fromId;
+            this.toId = toId;
+        }
+
+        @Override
+        protected List<InvertedIndex.Document> compute() {
+            if (toId - fromId <= chunkSize) {
+                return articleRepository.findTextsByIdRange(fromId, toId).stream()
+                        .map(InMemorySearchEngine::toDocument)
+                        .toList();
+            }
+
+            long middle = fromId + (toId - fromId) / 2;
+            BuildTask right = new BuildTask(middle, toId);
+            right.fork();
+            List<InvertedIndex.Document> documents = new ArrayList<>(new BuildTask(fromId, middle).compute());
+            documents.addAll(right.join());
+            return documents;
+        }
+    }
+}
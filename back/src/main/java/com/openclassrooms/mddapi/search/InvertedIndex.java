@@ -0,0 +1,333 @@
+package com.openclassrooms.mddapi.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index scored with BM25
+ * Documents get increasing internal numbers, so every posting list is an append-only pair of int arrays
+ * sorted by document. Queries intersect the lists document-at-a-time from the rarest term and keep the
+ * best k in a bounded min-heap, so nothing proportional to the corpus is allocated per query.
+ * Removed documents are tombstoned and purged from the postings once they make up a quarter of the index.
+ * Many readers or one writer at a time.
+ */
+final class InvertedIndex {
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+
+    // Title terms count as if they appeared this many times in the body
+    static final int TITLE_WEIGHT = 3;
+
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final Map<Long, Integer> docByArticle = new HashMap<>();
+    private final BitSet deleted = new BitSet();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private long[] articleIds = new long[1024];
+    private int[] docLengths = new int[1024];
+    private int maxDoc;
+    private int liveDocs;
+    private int deletedDocs;
+    private long totalLength;
+
+    /**
+     * Tokenized article ready to be indexed, built outside the index lock
+     */
+    static final class Document {
+
+        private final long articleId;
+        private final Map<String, Integer> termFrequencies;
+        private final int length;
+
+        private Document(long articleId, Map<String, Integer> termFrequencies, int length) {
+            this.articleId = articleId;
+            this.termFrequencies = termFrequencies;
+            this.length = length;
+        }
+
+        static Document of(long articleId, String title, String content) {
+            Map<String, Integer> frequencies = new HashMap<>();
+            List<String> titleTerms = Tokenizer.tokenize(title);
+            List<String> contentTerms = Tokenizer.tokenize(content);
+            titleTerms.forEach(term -> frequencies.merge(term, TITLE_WEIGHT, Integer::sum));
+            contentTerms.forEach(term -> frequencies.merge(term, 1, Integer::sum));
+            return new Document(articleId, frequencies, titleTerms.size() * TITLE_WEIGHT + contentTerms.size());
+        }
+    }
+
+    record Hit(long articleId, float score) {
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return liveDocs;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Index a document, replacing the previous version of the same article
+     */
+    void add(Document document) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(document.articleId);
+
+            int doc = maxDoc++;
+            if (doc == articleIds.length) {
+                articleIds = Arrays.copyOf(articleIds, doc * 2);
+                docLengths = Arrays.copyOf(docLengths, doc * 2);
+            }
+            articleIds[doc] = document.articleId;
+            docLengths[doc] = document.length;
+            docByArticle.put(document.articleId, doc);
+            document.termFrequencies.forEach((term, frequency) ->
+                    postings.computeIfAbsent(term, key -> new Postings()).add(doc, frequency));
+
+            liveDocs++;
+            totalLength += document.length;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void remove(long articleId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(articleId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Best k documents containing every required term and none of the excluded ones
+     */
+    List<Hit> search(Collection<String> required, Collection<String> excluded, int k) {
+        if (required.isEmpty() || k <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            List<Postings> lists = new ArrayList<>(required.size());
+            for (String term : required) {
+                Postings list = postings.get(term);
+                if (list == null) {
+                    return List.of();
+                }
+                lists.add(list);
+            }
+            lists.sort(Comparator.comparingInt(list -> list.size));
+
+            List<Postings> excludedLists = new ArrayList<>();
+            for (String term : excluded) {
+                Postings list = postings.get(term);
+                if (list != null) {
+                    excludedLists.add(list);
+                }
+            }
+
+            // Document frequencies still count tombstoned documents until the next purge
+            float[] idf = new float[lists.size()];
+            for (int i = 0; i < lists.size(); i++) {
+                float df = lists.get(i).size;
+                idf[i] = (float) Math.log(1 + (liveDocs - df + 0.5f) / (df + 0.5f));
+            }
+            float averageLength = liveDocs == 0 ? 1 : (float) totalLength / liveDocs;
+
+            TopK top = new TopK(k);
+            int[] cursors = new int[lists.size()];
+            Postings rarest = lists.get(0);
+            candidates:
+            for (int i = 0; i < rarest.size; i++) {
+                int doc = rarest.docs[i];
+                if (deleted.get(doc)) {
+                    continue;
+                }
+
+                float lengthNorm = K1 * (1 - B + B * docLengths[doc] / averageLength);
+                float score = idf[0] * bm25(rarest.frequencies[i], lengthNorm);
+                for (int t = 1; t < lists.size(); t++) {
+                    Postings list = lists.get(t);
+                    int position = list.seek(doc, cursors[t]);
+                    if (position >= list.size || list.docs[position] != doc) {
+                        cursors[t] = position;
+                        continue candidates;
+                    }
+                    cursors[t] = position;
+                    score += idf[t] * bm25(list.frequencies[position], lengthNorm);
+                }
+                for (Postings list : excludedLists) {
+                    int position = list.seek(doc, 0);
+                    if (position < list.size && list.docs[position] == doc) {
+                        continue candidates;
+                    }
+                }
+                top.offer(articleIds[doc], score);
+            }
+            return top.sorted();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static float bm25(int frequency, float lengthNorm) {
+        return frequency * (K1 + 1) / (frequency + lengthNorm);
+    }
+
+    private void removeLocked(long articleId) {
+        Integer doc = docByArticle.remove(articleId);
+        if (doc == null) {
+            return;
+        }
+        deleted.set(doc);
+        liveDocs--;
+        deletedDocs++;
+        totalLength -= docLengths[doc];
+
+        if (deletedDocs > 1024 && deletedDocs > liveDocs / 4) {
+            purgeDeleted();
+        }
+    }
+
+    private void purgeDeleted() {
+        postings.values().removeIf(list -> list.retainAll(deleted) == 0);
+        deleted.clear();
+        deletedDocs = 0;
+    }
+
+    /**
+     * Documents and frequencies of one term, sorted by document
+     */
+    private static final class Postings {
+
+        private int[] docs = new int[4];
+        private int[] frequencies = new int[4];
+        private int size;
+
+        void add(int doc, int frequency) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            docs[size] = doc;
+            frequencies[size] = frequency;
+            size++;
+        }
+
+        /**
+         * Position of the first document >= doc, searching from a position known to be before it
+         */
+        int seek(int doc, int from) {
+            int position = Arrays.binarySearch(docs, from, size, doc);
+            return position >= 0 ? position : -position - 1;
+        }
+
+        /**
+         * Drop the documents flagged in removed, returning how many remain
+         */
+        int retainAll(BitSet removed) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                if (!removed.get(docs[i])) {
+                    docs[kept] = docs[i];
+                    frequencies[kept] = frequencies[i];
+                    kept++;
+                }
+            }
+            size = kept;
+            return kept;
+        }
+    }
+
+    /**
+     * Bounded min-heap keeping the k best scores, ties broken towards the newest article
+     */
+    private static final class TopK {
+
+        private final long[] ids;
+        private final float[] scores;
+        private int size;
+
+        TopK(int k) {
+            ids = new long[k];
+            scores = new float[k];
+        }
+
+        void offer(long id, float score) {
+            if (size < ids.length) {
+                ids[size] = id;
+                scores[size] = score;
+                siftUp(size++);
+            } else if (isWorse(ids[0], scores[0], id, score)) {
+                ids[0] = id;
+                scores[0] = score;
+                siftDown(0);
+            }
+        }
+
+        List<Hit> sorted() {
+            List<Hit> hits = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                hits.add(new Hit(ids[i], scores[i]));
+            }
+            hits.sort(Comparator.comparingDouble(Hit::score).reversed()
+                    .thenComparing(Comparator.comparingLong(Hit::articleId).reversed()));
+            return hits;
+        }
+
+        private static boolean isWorse(long idA, float scoreA, long idB, float scoreB) {
+            return scoreA < scoreB || (scoreA == scoreB && idA < idB);
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) / 2;
+                if (!isWorse(ids[i], scores[i], ids[parent], scores[parent])) {
+                    return;
+                }
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int left = 2 * i + 1;
+                int right = left + 1;
+                int worst = i;
+                if (left < size && isWorse(ids[left], scores[left], ids[worst], scores[worst])) {
+                    worst = left;
+                }
+                if (right < size && isWorse(ids[right], scores[right], ids[worst], scores[worst])) {
+                    worst = right;
+                }
+                if (worst == i) {
+                    return;
+                }
+                swap(i, worst);
+                i = worst;
+            }
+        }
+
+        private void swap(int a, int b) {
+            long id = ids[a];
+            ids[a] = ids[b];
+            ids[b] = id;
+            float score = scores[a];
+            scores[a] = scores[b];
+            scores[b] = score;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.openclassrooms.mddapi.search;
+
+import com.openclassrooms.mddapi.dto.response.ArticleSearchHitResponse;
+import com.openclassrooms.mddapi.dto.response.ArticleSummaryResponse;
+import com.openclassrooms.mddapi.repository.ArticleSearchRepository;
+import com.openclassrooms.mddapi.repository.projection.ArticleSearchRow;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.util.HtmlUtils;
+
+import java.util.List;
+
+/**
+ * Ranked search on the PostgreSQL full-text index (articles.search_vector)
+ */
+@Component
+public class PostgresSearchEngine implements ArticleSearchEngine {
+
+    public static final String NAME = "postgres";
+
+    // Delimiters passed to ts_headline as StartSel / StopSel, private-use code points never escaped by HtmlUtils
+    private static final String HIGHLIGHT_START = "\uE000";
+    private static final String HIGHLIGHT_STOP = "\uE001";
+
+    @Autowired
+    private ArticleSearchRepository articleSearchRepository;
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public boolean isReady() {
+        return true;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ArticleSearchHitResponse> search(String query, int limit, int offset) {
+        return articleSearchRepository.search(query, ArticleSummaryResponse.EXCERPT_FETCH_LENGTH, limit, offset)
+                .stream()
+                .map(this::toHit)
+                .toList();
+    }
+
+    private ArticleSearchHitResponse toHit(ArticleSearchRow row) {
+        return new ArticleSearchHitResponse(toSummary(row), highlight(row.getHeadline()), row.getRank());
+    }
+
+    static ArticleSummaryResponse toSummary(ArticleSearchRow row) {
+        return new ArticleSummaryResponse(
+                row.getId(),
+                row.getTitle(),
+                row.getContentPrefix(),
+                row.getAuthorUsername(),
+                row.getThemeId(),
+                row.getThemeName(),
+                row.getThemeDescription(),
+                row.getThemeCreatedAt(),
+                row.getThemeUpdatedAt(),
+                row.getCommentsCount(),
+                row.getCreatedAt(),
+                row.getUpdatedAt()
+        );
+    }
+
+    /**
+     * Escape the article text, then turn the ts_headline delimiters into <mark> tags
+     */
+    private String highlight(String headline) {
+        return HtmlUtils.htmlEscape(headline)
+                .replace(HIGHLIGHT_START, "<mark>")
+                .replace(HIGHLIGHT_STOP, "</mark>");
+    }
+}
@@ -0,0 +1,17 @@
+package com.openclassrooms.mddapi.search;
+
+/**
+ * How the search query is matched against articles
+ */
+public enum SearchMode {
+
+    /**
+     * Word matches ranked by relevance, using the configured engine (app.search.engine)
+     */
+    FULL_TEXT,
+
+    /**
+     * Typo-tolerant matches ranked by trigram similarity
+     */
+    FUZZY
+}
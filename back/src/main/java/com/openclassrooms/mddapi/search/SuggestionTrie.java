@@ -0,0 +1,311 @@
+package com.openclassrooms.mddapi.search;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Matcher;
+
+/**
+ * Radix trie answering "best completions of this prefix" for one kind of label
+ * Every node keeps the k heaviest entries of its subtree, so a lookup is a walk down the prefix
+ * and a copy of at most k entries, whatever the number of labels below it.
+ * Labels are indexed from each of their first words, so "Spring Boot tips" completes "boo" as well as "spr".
+ * Writes recompute the top k along the touched paths only. Many readers or one writer at a time.
+ */
+public final class SuggestionTrie {
+
+    // Word starts indexed per label: later words are rarely typed first and would multiply the keys
+    private static final int MAX_WORD_STARTS = 6;
+
+    private static final Comparator<Entry> BEST_FIRST = Comparator.comparingLong(Entry::weight).reversed()
+            .thenComparing(Entry::label)
+            .thenComparingLong(Entry::id);
+
+    private static final Entry[] NO_ENTRIES = new Entry[0];
+
+    private final int k;
+    private final Node root = new Node("");
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public record Entry(long id, String label, long weight) {
+    }
+
+    public SuggestionTrie(int k) {
+        this.k = k;
+    }
+
+    /**
+     * Trie holding all entries, with each node's top k computed once at the end
+     */
+    public static SuggestionTrie of(Collection<Entry> entries, int k) {
+        SuggestionTrie trie = new SuggestionTrie(k);
+        for (Entry entry : entries) {
+            trie.entries.put(entry.id(), entry);
+            for (String key : keys(entry.label())) {
+                List<Node> path = trie.insert(key);
+                path.get(path.size() - 1).addTerminal(entry);
+            }
+        }
+        trie.recomputeAll(trie.root);
+        return trie;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Add an entry, or replace the one with the same id (new label or new weight)
+     */
+    public void put(Entry entry) {
+        lock.writeLock().lock();
+        try {
+            Entry previous = entries.get(entry.id());
+            if (entry.equals(previous)) {
+                return;
+            }
+            if (previous != null) {
+                removeLocked(previous);
+            }
+            entries.put(entry.id(), entry);
+            for (String key : keys(entry.label())) {
+                List<Node> path = insert(key);
+                path.get(path.size() - 1).addTerminal(entry);
+                for (int i = path.size() - 1; i >= 0; i--) {
+                    recompute(path.get(i));
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            Entry previous = entries.get(id);
+            if (previous != null) {
+                removeLocked(previous);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Heaviest entries whose label has a word sequence starting with prefix, best first
+     */
+    public List<Entry> complete(String prefix, int limit) {
+        String key = normalize(prefix);
+        if (key.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            int i = 0;
+            while (i < key.length()) {
+                Node child = node.children.get(key.charAt(i));
+                if (child == null) {
+                    return List.of();
+                }
+                if (child.edge.length() >= key.length() - i) {
+                    // The prefix ends inside this edge
+                    return child.edge.startsWith(key.substring(i)) ? head(child.top, limit) : List.of();
+                }
+                if (!key.startsWith(child.edge, i)) {
+                    return List.of();
+                }
+                i += child.edge.length();
+                node = child;
+            }
+            return head(node.top, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static List<Entry> head(Entry[] top, int limit) {
+        return List.of(top).subList(0, Math.min(limit, top.length));
+    }
+
+    private void removeLocked(Entry entry) {
+        entries.remove(entry.id());
+        for (String key : keys(entry.label())) {
+            List<Node> path = find(key);
+            if (path == null) {
+                continue;
+            }
+            path.get(path.size() - 1).removeTerminal(entry);
+            for (int i = path.size() - 1; i >= 0; i--) {
+                Node node = path.get(i);
+                // Emptied leaves are unlinked; single-child nodes left behind are not merged back
+                if (i > 0 && node.isEmpty()) {
+                    path.get(i - 1).children.remove(node.edge.charAt(0));
+                } else {
+                    recompute(node);
+                }
+            }
+        }
+    }
+
+    /**
+     * Path from the root to the node spelling key, splitting an edge or adding a leaf when needed
+     */
+    private List<Node> insert(String key) {
+        List<Node> path = new ArrayList<>();
+        path.add(root);
+        Node node = root;
+        int i = 0;
+        while (i < key.length()) {
+            Node child = node.children.get(key.charAt(i));
+            if (child == null) {
+                child = new Node(key.substring(i));
+                node.children.put(key.charAt(i), child);
+                path.add(child);
+                return path;
+            }
+
+            int common = 0;
+            int max = Math.min(child.edge.length(), key.length() - i);
+            while (common < max && child.edge.charAt(common) == key.charAt(i + common)) {
+                common++;
+            }
+            if (common < child.edge.length()) {
+                Node middle = new Node(child.edge.substring(0, common));
+                child.edge = child.edge.substring(common);
+                middle.children.put(child.edge.charAt(0), child);
+                middle.top = child.top;
+                node.children.put(middle.edge.charAt(0), middle);
+                child = middle;
+            }
+            path.add(child);
+            node = child;
+            i += common;
+        }
+        return path;
+    }
+
+    /**
+     * Path from the root to the node spelling exactly key, or null when there is none
+     */
+    private List<Node> find(String key) {
+        List<Node> path = new ArrayList<>();
+        path.add(root);
+        Node node = root;
+        int i = 0;
+        while (i < key.length()) {
+            Node child = node.children.get(key.charAt(i));
+            if (child == null || !key.startsWith(child.edge, i)) {
+                return null;
+            }
+            path.add(child);
+            node = child;
+            i += child.edge.length();
+        }
+        return path;
+    }
+
+    private void recompute(Node node) {
+        List<Entry> candidates = new ArrayList<>(node.terminals);
+        for (Node child : node.children.values()) {
+            candidates.addAll(List.of(child.top));
+        }
+        // A label indexed from several of its words can reach a node through more than one child
+        node.top = candidates.stream()
+                .distinct()
+                .sorted(BEST_FIRST)
+                .limit(k)
+                .toArray(Entry[]::new);
+    }
+
+    private void recomputeAll(Node node) {
+        for (Node child : node.children.values()) {
+            recomputeAll(child);
+        }
+        recompute(node);
+    }
+
+    /**
+     * Keys a label is reachable from: its normalized text starting at each of its first words
+     */
+    private static Set<String> keys(String label) {
+        List<Integer> wordStarts = new ArrayList<>();
+        String normalized = normalize(label);
+        for (int i = 0; i < normalized.length() && wordStarts.size() < MAX_WORD_STARTS; i++) {
+            if (i == 0 || normalized.charAt(i - 1) == ' ') {
+                wordStarts.add(i);
+            }
+        }
+
+        Set<String> keys = new LinkedHashSet<>();
+        for (int start : wordStarts) {
+            keys.add(normalized.substring(start));
+        }
+        return keys;
+    }
+
+    /**
+     * Lower-cased, accent-free words separated by single spaces, as typed prefixes are compared
+     */
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        StringBuilder normalized = new StringBuilder(text.length());
+        Matcher matcher = Tokenizer.WORD.matcher(text);
+        while (matcher.find()) {
+            if (!normalized.isEmpty()) {
+                normalized.append(' ');
+            }
+            normalized.append(Tokenizer.normalize(matcher.group()));
+        }
+        // Keep a trailing space so "spring " only completes labels with a word after "spring"
+        if (!normalized.isEmpty() && Character.isWhitespace(text.charAt(text.length() - 1))) {
+            normalized.append(' ');
+        }
+        return normalized.toString();
+    }
+
+    private static final class Node {
+
+        private String edge;
+        private final Map<Character, Node> children = new HashMap<>(4);
+        private List<Entry> terminals = List.of();
+        private Entry[] top = NO_ENTRIES;
+
+        Node(String edge) {
+            this.edge = edge;
+        }
+
+        void addTerminal(Entry entry) {
+            if (terminals.isEmpty()) {
+                terminals = new ArrayList<>(1);
+            }
+            terminals.add(entry);
+        }
+
+        void removeTerminal(Entry entry) {
+            if (!terminals.isEmpty()) {
+                terminals.remove(entry);
+            }
+        }
+
+        boolean isEmpty() {
+            return terminals.isEmpty() && children.isEmpty();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.openclassrooms.mddapi.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Splits text into index terms: lower-cased, accents stripped, common French and English words dropped
+ * Used for both documents and queries so they always agree on what a term is
+ */
+final class Tokenizer {
+
+    static final Pattern WORD = Pattern.compile("[\\p{L}\\p{N}]+");
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "le", "la", "les", "un", "une", "des", "du", "de", "et", "ou", "en", "au", "aux", "a",
+            "ce", "ces", "se", "sa", "son", "ses", "il", "elle", "ils", "on", "ne", "pas", "que", "qui",
+            "dans", "par", "pour", "sur", "avec", "est", "sont", "plus",
+            "the", "an", "and", "or", "of", "to", "in", "for", "is", "are", "it", "with", "by");
+
+    private Tokenizer() {
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+        Matcher matcher = WORD.matcher(text);
+        while (matcher.find()) {
+            String term = normalize(matcher.group());
+            if (isIndexed(term)) {
+                terms.add(term);
+            }
+        }
+        return terms;
+    }
+
+    static String normalize(String word) {
+        String decomposed = Normalizer.normalize(word.toLowerCase(Locale.ROOT), Normalizer.Form.NFD);
+        return MARKS.matcher(decomposed).replaceAll("");
+    }
+
+    static boolean isIndexed(String term) {
+        return term.length() > 1 && !STOP_WORDS.contains(term);
+    }
+}
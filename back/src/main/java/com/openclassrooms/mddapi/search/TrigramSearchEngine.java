@@ -0,0 +1,54 @@
+package com.openclassrooms.mddapi.search;
+
+import com.openclassrooms.mddapi.dto.response.ArticleSearchHitResponse;
+import com.openclassrooms.mddapi.dto.response.ArticleSummaryResponse;
+import com.openclassrooms.mddapi.repository.ArticleSearchRepository;
+import com.openclassrooms.mddapi.repository.projection.ArticleSearchRow;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.util.HtmlUtils;
+
+import java.util.List;
+
+/**
+ * Typo-tolerant search on the pg_trgm indexes of articles.title and articles.content (SearchMode.FUZZY)
+ * Misspelt words still match, but there is no query syntax and nothing to highlight: the headline is the excerpt.
+ */
+@Component
+public class TrigramSearchEngine implements ArticleSearchEngine {
+
+    public static final String NAME = "trigram";
+
+    @Autowired
+    private ArticleSearchRepository articleSearchRepository;
+
+    @Value("${app.search.fuzzy.candidate-limit:500}")
+    private int candidateLimit;
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public boolean isReady() {
+        return true;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ArticleSearchHitResponse> search(String query, int limit, int offset) {
+        return articleSearchRepository.fuzzySearch(query, candidateLimit, ArticleSummaryResponse.EXCERPT_FETCH_LENGTH, limit, offset)
+                .stream()
+                .map(this::toHit)
+                .toList();
+    }
+
+    private ArticleSearchHitResponse toHit(ArticleSearchRow row) {
+        ArticleSummaryResponse article = PostgresSearchEngine.toSummary(row);
+        String headline = article.getExcerpt() == null ? "" : HtmlUtils.htmlEscape(article.getExcerpt());
+        return new ArticleSearchHitResponse(article, headline, row.getRank());
+    }
+}
@@ -24,6 +24,8 @@ import jakarta.servlet.http.HttpServletResponse;
  * JWT Authentication Filter
  * Intercepts all HTTP requests to check for JWT tokens in Authorization header
  * If valid token found, sets authentication in Spring Security context
+ * Tokens carrying the userId claim authenticate from their claims alone (JwtUserPrincipal),
+ * older tokens still load the user.
  */
 @Slf4j
 @Component
@@ -33,13 +35,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtService jwtService;
     private final UserDetailsService customUserDetailsService;
     private final TokenBlacklistService tokenBlacklistService;
+    private final UserAuthorities userAuthorities;
     
     public JwtAuthenticationFilter(JwtService jwtService, 
                                   UserDetailsService customUserDetailsService,
-                                  TokenBlacklistService tokenBlacklistService) {
+                                  TokenBlacklistService tokenBlacklistService,
+                                  UserAuthorities userAuthorities) {
         this.jwtService = jwtService;
         this.customUserDetailsService = customUserDetailsService;
         this.tokenBlacklistService = tokenBlacklistService;
+        this.userAuthorities = userAuthorities;
         log.info("✅ JwtAuthenticationFilter initialized with blacklist service");
     }
 
@@ -69,41 +74,55 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         jwt = authHeader.substring(7);
         
         try {
-            // Check if token is blacklisted
-            if (tokenBlacklistService != null && tokenBlacklistService.isTokenBlacklisted(jwt)) {
+            // Signature and expiry are checked here, once; verified claims are enough: no user query
+            VerifiedToken verified = jwtService.verify(jwt);
+            JwtUserPrincipal principal = verified.toPrincipal();
+
+            // Check if token is blacklisted (almost always answered by the Bloom filter)
+            if (tokenBlacklistService != null && tokenBlacklistService.isTokenBlacklisted(verified)) {
                 log.warn("Attempted to use blacklisted token");
-                filterChain.doFilter(request, response);
-                return;
-            }
-            
-            // Extract email from JWT token
-            userEmail = jwtService.extractUsername(jwt);
+            } else if (principal != null) {
+                if (SecurityContextHolder.getContext().getAuthentication() == null) {
+                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                            principal,
+                            null,
+                            userAuthorities.of(principal.getEmail())
+                    );
+                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    SecurityContextHolder.getContext().setAuthentication(authToken);
+
+                    log.debug("JWT authentication successful for user ID: {}", principal.getUserId());
+                }
+            } else {
+                // Extract email from JWT token
+                userEmail = verified.getSubject();
             
-            // If email is found and user is not already authenticated
-            if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+                // If email is found and user is not already authenticated
+                if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
                 
-                // Load user details from database
-                UserDetails userDetails = this.customUserDetailsService.loadUserByUsername(userEmail);
+                    // Token issued before the userId claim: load user details from database
+                    UserDetails userDetails = this.customUserDetailsService.loadUserByUsername(userEmail);
                 
-                // Validate token against user details
-                if (jwtService.validateToken(jwt, userDetails)) {
+                    // Token already verified: only check it belongs to the loaded user
+                    if (userEmail.equals(userDetails.getUsername())) {
                     
-                    // Create authentication token
-                    UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                            userDetails,
-                            null,
-                            userDetails.getAuthorities()
-                    );
+                        // Create authentication token
+                        UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
+                                userDetails,
+                                null,
+                                userDetails.getAuthorities()
+                        );
                     
-                    // Set additional details
-                    authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                        // Set additional details
+                        authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                     
-                    // Set authentication in security context
-                    SecurityContextHolder.getContext().setAuthentication(authToken);
+                        // Set authentication in security context
+                        SecurityContextHolder.getContext().setAuthentication(authToken);
                     
-                    log.debug("JWT authentication successful for user: {}", userEmail);
-                } else {
-                    log.warn("Invalid JWT token for user: {}", userEmail);
+                        log.debug("JWT authentication successful for user: {}", userEmail);
+                    } else {
+                        log.warn("Invalid JWT token for user: {}", userEmail);
+                    }
                 }
             }
         } catch (Exception e) {
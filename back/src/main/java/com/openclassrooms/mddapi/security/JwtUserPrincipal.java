@@ -0,0 +1,29 @@
+package com.openclassrooms.mddapi.security;
+
+import java.io.Serializable;
+
+import org.springframework.security.core.AuthenticatedPrincipal;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Authenticated user as asserted by the verified claims of a JWT
+ * Built without a database query; getName() is the email, like the subject of the token
+ * and the username of the UserDetails it replaces.
+ */
+@Getter
+@RequiredArgsConstructor
+@ToString
+public class JwtUserPrincipal implements AuthenticatedPrincipal, Serializable {
+
+    private final Long userId;
+    private final String email;
+    private final String username;
+
+    @Override
+    public String getName() {
+        return email;
+    }
+}
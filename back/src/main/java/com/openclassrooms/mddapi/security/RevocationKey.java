@@ -0,0 +1,37 @@
+package com.openclassrooms.mddapi.security;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.UUID;
+
+/**
+ * 128-bit identity of a token in the revocation list
+ * The jti claim when it is a UUID (tokens issued by JwtService), otherwise the first 128 bits
+ * of the SHA-256 digest of the jti or of the whole token. Either way uniformly distributed.
+ */
+public record RevocationKey(long high, long low) {
+
+    public static RevocationKey of(String token, String jti) {
+        if (jti != null) {
+            try {
+                UUID id = UUID.fromString(jti);
+                return new RevocationKey(id.getMostSignificantBits(), id.getLeastSignificantBits());
+            } catch (IllegalArgumentException e) {
+                return digest(jti);
+            }
+        }
+        return digest(token);
+    }
+
+    private static RevocationKey digest(String value) {
+        try {
+            ByteBuffer hash = ByteBuffer.wrap(MessageDigest.getInstance("SHA-256")
+                    .digest(value.getBytes(StandardCharsets.UTF_8)));
+            return new RevocationKey(hash.getLong(), hash.getLong());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.openclassrooms.mddapi.security;
+
+import java.time.Instant;
+
+/**
+ * A revocation as broadcast between instances on the token_revoked channel
+ * Payload: the two halves of the key and the expiry in epoch milliseconds, comma-separated.
+ */
+public record RevocationNotice(RevocationKey key, Instant expiresAt) {
+
+    public static final String CHANNEL = "token_revoked";
+
+    public String toPayload() {
+        return key.high() + "," + key.low() + "," + expiresAt.toEpochMilli();
+    }
+
+    /**
+     * @throws IllegalArgumentException when the payload was not written by toPayload()
+     */
+    public static RevocationNotice parse(String payload) {
+        String[] parts = payload == null ? new String[0] : payload.split(",");
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Malformed revocation notice: " + payload);
+        }
+        return new RevocationNotice(
+                new RevocationKey(Long.parseLong(parts[0]), Long.parseLong(parts[1])),
+                Instant.ofEpochMilli(Long.parseLong(parts[2])));
+    }
+}
@@ -0,0 +1,164 @@
+package com.openclassrooms.mddapi.security;
+
+import com.openclassrooms.mddapi.model.RevokedToken;
+import com.openclassrooms.mddapi.repository.RevokedTokenRepository;
+import com.openclassrooms.mddapi.service.TokenBlacklistService;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Applies the revocations made on other instances to this instance's blacklist
+ * Holds one connection of its own to the primary, outside the pool, subscribed to the token_revoked
+ * channel. After each (re)connection the unexpired rows of revoked_tokens are loaded, LISTEN having been
+ * issued first so that nothing committed in between is missed; duplicates are harmless.
+ * The first load happens before the web server takes requests.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "jwt.blacklist.shared", havingValue = "true", matchIfMissing = true)
+public class TokenRevocationListener implements SmartLifecycle {
+
+    private final TokenBlacklistService tokenBlacklistService;
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final DataSourceProperties dataSourceProperties;
+    private final long pollMs;
+    private final long reconnectMs;
+
+    private volatile boolean running;
+    private volatile Thread thread;
+    private Connection connection;
+
+    public TokenRevocationListener(TokenBlacklistService tokenBlacklistService,
+                                   RevokedTokenRepository revokedTokenRepository,
+                                   DataSourceProperties dataSourceProperties,
+                                   @Value("${jwt.blacklist.listen.poll-ms:5000}") long pollMs,
+                                   @Value("${jwt.blacklist.listen.reconnect-ms:5000}") long reconnectMs) {
+        this.tokenBlacklistService = tokenBlacklistService;
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.dataSourceProperties = dataSourceProperties;
+        this.pollMs = pollMs;
+        this.reconnectMs = reconnectMs;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        try {
+            connection = subscribe();
+        } catch (SQLException | RuntimeException e) {
+            log.warn("Could not subscribe to revocations yet, retrying in the background: {}", e.getMessage());
+        }
+        thread = Thread.ofPlatform().name("token-revocation-listener").daemon().start(this::listen);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Thread listener = thread;
+        if (listener != null) {
+            listener.interrupt();
+            try {
+                listener.join(pollMs + 1000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Before the web server (SmartLifecycle.DEFAULT_PHASE - 1024): no request is served with an empty blacklist
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    private void listen() {
+        while (running) {
+            try {
+                if (connection == null) {
+                    connection = subscribe();
+                }
+                PGNotification[] notifications = connection.unwrap(PGConnection.class).getNotifications((int) pollMs);
+                if (notifications != null) {
+                    for (PGNotification notification : notifications) {
+                        apply(notification.getParameter());
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (!running) {
+                    break;
+                }
+                log.warn("Revocation listener disconnected, reconnecting in {} ms: {}", reconnectMs, e.getMessage());
+                close();
+                try {
+                    Thread.sleep(reconnectMs);
+                } catch (InterruptedException interrupted) {
+                    break;
+                }
+            }
+        }
+        close();
+    }
+
+    /**
+     * Open the listening connection, then load what was revoked before it
+     */
+    private Connection subscribe() throws SQLException {
+        Connection listening = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword());
+        try {
+            listening.setAutoCommit(true);
+            try (Statement statement = listening.createStatement()) {
+                statement.execute("LISTEN " + RevocationNotice.CHANNEL);
+            }
+
+            List<RevokedToken> revoked = revokedTokenRepository.findUnexpired(Instant.now());
+            for (RevokedToken token : revoked) {
+                tokenBlacklistService.applyRevocation(new RevocationKey(token.getKeyHigh(), token.getKeyLow()),
+                        token.getExpiresAt());
+            }
+            log.info("Listening for token revocations, {} loaded from revoked_tokens", revoked.size());
+            return listening;
+        } catch (SQLException | RuntimeException e) {
+            listening.close();
+            throw e;
+        }
+    }
+
+    private void apply(String payload) {
+        try {
+            RevocationNotice notice = RevocationNotice.parse(payload);
+            tokenBlacklistService.applyRevocation(notice.key(), notice.expiresAt());
+        } catch (IllegalArgumentException e) {
+            log.warn("Ignoring revocation notice: {}", e.getMessage());
+        }
+    }
+
+    private void close() {
+        if (connection != null) {
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                log.debug("Error closing the revocation listener connection: {}", e.getMessage());
+            }
+            connection = null;
+        }
+    }
+}
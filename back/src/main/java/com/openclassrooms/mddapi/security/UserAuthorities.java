@@ -0,0 +1,27 @@
+package com.openclassrooms.mddapi.security;
+
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.stereotype.Component;
+
+/**
+ * Authorities of a user, derived from configuration alone
+ * Shared by the password login and the JWT filter, which must not query the database.
+ */
+@Component
+public class UserAuthorities {
+
+    // Emails granted ROLE_ADMIN (bulk export and import endpoints)
+    @Value("${app.admin.emails:}")
+    private Set<String> adminEmails;
+
+    public List<GrantedAuthority> of(String email) {
+        return adminEmails.contains(email)
+                ? AuthorityUtils.createAuthorityList("ROLE_ADMIN")
+                : AuthorityUtils.NO_AUTHORITIES;
+    }
+}
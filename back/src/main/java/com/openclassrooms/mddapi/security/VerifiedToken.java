@@ -0,0 +1,49 @@
+package com.openclassrooms.mddapi.security;
+
+import java.time.Instant;
+
+import io.jsonwebtoken.Claims;
+import lombok.Getter;
+
+/**
+ * A JWT whose signature has been checked, with the claims the application reads
+ * Produced once per distinct token by JwtService.verify(); expiry is re-checked on every use.
+ * The revocation key identifies the token in the blacklist without keeping the token itself.
+ */
+@Getter
+public class VerifiedToken {
+
+    public static final String USER_ID_CLAIM = "userId";
+    public static final String USERNAME_CLAIM = "username";
+
+    private final Claims claims;
+    private final String subject;
+    private final Long userId;
+    private final String username;
+    private final Instant expiresAt;
+    private final RevocationKey revocationKey;
+
+    public VerifiedToken(Claims claims, RevocationKey revocationKey) {
+        this.claims = claims;
+        this.subject = claims.getSubject();
+        this.userId = claims.get(USER_ID_CLAIM, Long.class);
+        this.username = claims.get(USERNAME_CLAIM, String.class);
+        this.expiresAt = claims.getExpiration().toInstant();
+        this.revocationKey = revocationKey;
+    }
+
+    public boolean isExpired() {
+        return isExpiredAt(Instant.now());
+    }
+
+    public boolean isExpiredAt(Instant now) {
+        return !expiresAt.isAfter(now);
+    }
+
+    /**
+     * The principal asserted by the claims, or null for tokens issued without the userId claim
+     */
+    public JwtUserPrincipal toPrincipal() {
+        return userId != null ? new JwtUserPrincipal(userId, subject, username) : null;
+    }
+}
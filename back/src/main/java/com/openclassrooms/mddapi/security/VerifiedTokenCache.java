@@ -0,0 +1,90 @@
+package com.openclassrooms.mddapi.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Bounded memory of tokens already verified, keyed by the SHA-256 digest of the token
+ * A client sends the same token with every request: a hit skips the HMAC check and the claims parsing
+ * until the token expires. Raw tokens are never kept. Once max-size tokens are held, new ones are
+ * verified without being remembered until the expired ones have been purged.
+ */
+@Component
+@Slf4j
+public class VerifiedTokenCache {
+
+    private final ConcurrentHashMap<String, VerifiedToken> tokens = new ConcurrentHashMap<>();
+    private final Counter hits;
+    private final Counter misses;
+
+    @Value("${jwt.verified-cache.max-size:10000}")
+    private int maxSize;
+
+    public VerifiedTokenCache(MeterRegistry meterRegistry) {
+        this.hits = Counter.builder("jwt.verification.lookups")
+                .description("Tokens found already verified")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("jwt.verification.lookups")
+                .description("Tokens that went through signature verification")
+                .tag("result", "miss")
+                .register(meterRegistry);
+    }
+
+    /**
+     * The verified token, from memory or from verifier
+     * An expired token is handed to verifier again, so that it fails the way a fresh one would.
+     */
+    public VerifiedToken get(String token, Function<String, VerifiedToken> verifier) {
+        if (maxSize <= 0) {
+            return verifier.apply(token);
+        }
+
+        String key = digest(token);
+        VerifiedToken cached = tokens.get(key);
+        if (cached != null) {
+            if (!cached.isExpired()) {
+                hits.increment();
+                return cached;
+            }
+            tokens.remove(key, cached);
+        }
+
+        misses.increment();
+        VerifiedToken verified = verifier.apply(token);
+        if (tokens.size() < maxSize) {
+            tokens.put(key, verified);
+        }
+        return verified;
+    }
+
+    @Scheduled(initialDelayString = "${jwt.verified-cache.purge-ms:60000}", fixedDelayString = "${jwt.verified-cache.purge-ms:60000}")
+    public void purgeExpired() {
+        Instant now = Instant.now();
+        int before = tokens.size();
+        tokens.values().removeIf(token -> token.isExpiredAt(now));
+        log.debug("Purged {} expired tokens, {} remembered", before - tokens.size(), tokens.size());
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
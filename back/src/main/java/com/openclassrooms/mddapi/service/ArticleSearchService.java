@@ -0,0 +1,19 @@
+package com.openclassrooms.mddapi.service;
+
+import com.openclassrooms.mddapi.dto.response.ArticleSearchHitResponse;
+import com.openclassrooms.mddapi.dto.response.SearchPageResponse;
+import com.openclassrooms.mddapi.search.SearchMode;
+
+public interface ArticleSearchService {
+
+    /**
+     * Search articles by relevance
+     *
+     * @param query Free text; in FULL_TEXT mode supports "quoted phrases", OR and -excluded terms
+     * @param mode  FULL_TEXT or FUZZY (typo-tolerant), null for FULL_TEXT
+     * @param page  Page number starting at 0
+     * @param size  Requested page size
+     * @return Page of hits, best match first
+     */
+    SearchPageResponse<ArticleSearchHitResponse> search(String query, SearchMode mode, Integer page, Integer size);
+}
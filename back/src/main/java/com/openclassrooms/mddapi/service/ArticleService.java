@@ -2,23 +2,36 @@ package com.openclassrooms.mddapi.service;
 
 import com.openclassrooms.mddapi.dto.request.CreateArticleRequest;
 import com.openclassrooms.mddapi.dto.response.ArticleResponse;
+import com.openclassrooms.mddapi.dto.response.ArticleSummaryResponse;
+import com.openclassrooms.mddapi.dto.response.CursorPageResponse;
 import com.openclassrooms.mddapi.model.User;
-
-import java.util.List;
+import com.openclassrooms.mddapi.util.ResourceVersion;
 
 public interface ArticleService {
 
     ArticleResponse createArticle(CreateArticleRequest request, User author);
 
-    List<ArticleResponse> getAllArticles();
+    CursorPageResponse<ArticleSummaryResponse> getAllArticles(String cursor, Integer size);
 
     ArticleResponse getArticleById(Long id);
 
-    List<ArticleResponse> getArticlesByAuthor(User author);
+    /**
+     * Validators of getArticleById, without loading the article
+     */
+    ResourceVersion getArticleVersion(Long id);
+
+    /**
+     * Validators of the list pages, from the versions of the page rows only
+     */
+    ResourceVersion getAllArticlesVersion(String cursor, Integer size);
+
+    ResourceVersion getArticlesByAuthorVersion(User author, String cursor, Integer size);
+
+    ResourceVersion getArticlesByThemeVersion(Long themeId, String cursor, Integer size);
 
-    List<ArticleResponse> getArticlesByTheme(Long themeId);
+    CursorPageResponse<ArticleSummaryResponse> getArticlesByAuthor(User author, String cursor, Integer size);
 
-    List<ArticleResponse> searchArticles(String keyword);
+    CursorPageResponse<ArticleSummaryResponse> getArticlesByTheme(Long themeId, String cursor, Integer size);
 
     ArticleResponse updateArticle(Long id, CreateArticleRequest request, User author);
 
@@ -9,7 +9,8 @@ public interface AuthenticationHelperService {
      * Extract User from Spring Security Authentication object
      *
      * @param authentication Spring Security authentication object
-     * @return User entity from the authentication principal
+     * @return User entity from the authentication principal; for claims-based JWT authentication,
+     *         a lazy reference that only queries the user when a field other than the id is read
      */
     User getCurrentUser(Authentication authentication);
 
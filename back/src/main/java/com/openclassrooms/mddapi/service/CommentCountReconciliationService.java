@@ -0,0 +1,12 @@
+package com.openclassrooms.mddapi.service;
+
+public interface CommentCountReconciliationService {
+
+    /**
+     * Repair drift between articles.comments_count and the actual comments rows
+     * Articles are processed in id chunks, each in its own short transaction
+     *
+     * @return number of articles whose counter was corrected
+     */
+    int reconcileCommentCounts();
+}
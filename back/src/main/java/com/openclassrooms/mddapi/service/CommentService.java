@@ -2,19 +2,55 @@ package com.openclassrooms.mddapi.service;
 
 import com.openclassrooms.mddapi.dto.request.CreateCommentRequest;
 import com.openclassrooms.mddapi.dto.response.CommentResponse;
+import com.openclassrooms.mddapi.dto.response.CursorPageResponse;
 import com.openclassrooms.mddapi.model.User;
+import com.openclassrooms.mddapi.util.ResourceVersion;
+import org.springframework.data.domain.Sort;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.OutputStream;
 
 public interface CommentService {
 
     CommentResponse createComment(CreateCommentRequest request, User user);
 
-    List<CommentResponse> getCommentsByArticle(Long articleId);
+    /**
+     * A page of an article's comments, ascending for oldest first
+     * One query; the article's existence is only checked when the page comes back empty
+     */
+    CursorPageResponse<CommentResponse> getCommentsByArticle(Long articleId, String cursor, Integer size, Sort.Direction direction);
+
+    /**
+     * A page of a user's comments, ascending for oldest first
+     */
+    CursorPageResponse<CommentResponse> getCommentsByUser(User user, String cursor, Integer size, Sort.Direction direction);
+
+    /**
+     * Write the comments of an article to out as a JSON array, oldest first, streaming from the database
+     * Does not check that the article exists: callers resolve getCommentsByArticleVersion first
+     */
+    void writeCommentsByArticle(Long articleId, OutputStream out) throws IOException;
 
     CommentResponse getCommentById(Long id);
 
     void deleteComment(Long id, User user);
 
-    List<CommentResponse> getCommentsByUser(String username);
+    /**
+     * Write a user's comments to out as a JSON array, newest first, streaming from the database
+     */
+    void writeCommentsByUser(Long userId, OutputStream out) throws IOException;
+
+    /**
+     * Validators of the comment reads above, without loading any comment
+     */
+    ResourceVersion getCommentsByArticleVersion(Long articleId);
+
+    ResourceVersion getCommentVersion(Long id);
+
+    ResourceVersion getCommentsByUserVersion(Long userId);
+
+    /**
+     * Validators of a page already loaded, derived from its own rows without another query
+     */
+    ResourceVersion getPageVersion(CursorPageResponse<CommentResponse> page);
 }
\ No newline at end of file
@@ -0,0 +1,22 @@
+package com.openclassrooms.mddapi.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface ExportService {
+
+    /**
+     * Write every article with an id greater than afterId to out as NDJSON, in id order
+     * Pass the id of the last line received to resume an interrupted export
+     *
+     * @return Number of articles written
+     */
+    long exportArticles(long afterId, OutputStream out) throws IOException;
+
+    /**
+     * Write every comment with an id greater than afterId to out as NDJSON, in id order
+     *
+     * @return Number of comments written
+     */
+    long exportComments(long afterId, OutputStream out) throws IOException;
+}
@@ -0,0 +1,26 @@
+package com.openclassrooms.mddapi.service;
+
+import com.openclassrooms.mddapi.dto.response.ArticleSummaryResponse;
+import com.openclassrooms.mddapi.dto.response.CursorPageResponse;
+import com.openclassrooms.mddapi.model.User;
+import com.openclassrooms.mddapi.pagination.FeedPage;
+import org.springframework.data.domain.Sort;
+
+public interface FeedService {
+
+    /**
+     * Resolve which articles of the user's subscribed themes make up one feed page, and its ETag
+     *
+     * @param user      Current user
+     * @param cursor    Cursor returned by the previous page, null for the first page
+     * @param size      Requested page size
+     * @param direction DESC for newest first, ASC for oldest first
+     * @return Ordered article ids of the page with their ETag
+     */
+    FeedPage getFeedPage(User user, String cursor, Integer size, Sort.Direction direction);
+
+    /**
+     * Load the articles of a resolved feed page, keeping its order and cursor
+     */
+    CursorPageResponse<ArticleSummaryResponse> loadFeedPage(FeedPage page);
+}
@@ -0,0 +1,18 @@
+package com.openclassrooms.mddapi.service;
+
+import com.openclassrooms.mddapi.dto.response.ImportResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface ImportService {
+
+    /**
+     * Insert the NDJSON articles read from in, in batched chunks each committed on its own
+     * Invalid lines and lines referencing an unknown author or theme are skipped and counted.
+     * Malformed JSON stops the import with an IllegalArgumentException, chunks already committed are kept.
+     *
+     * @return Imported and skipped counts with the throughput
+     */
+    ImportResponse importArticles(InputStream in) throws IOException;
+}
@@ -2,24 +2,21 @@ package com.openclassrooms.mddapi.service;
 
 import java.time.LocalDateTime;
 import java.util.Date;
-import java.util.Map;
 import java.util.function.Function;
 
 import org.springframework.security.core.userdetails.UserDetails;
 
+import com.openclassrooms.mddapi.model.User;
+import com.openclassrooms.mddapi.security.VerifiedToken;
+
 import io.jsonwebtoken.Claims;
 
 public interface JwtService {
     
     /**
-     * Generate JWT token for authenticated user
-     */
-    String generateToken(String email);
-    
-    /**
-     * Generate JWT token with additional claims
+     * Generate JWT token carrying the user's id and username next to the email subject
      */
-    String generateToken(Map<String, Object> extraClaims, UserDetails userDetails);
+    String generateToken(User user);
     
     /**
      * Extract username (email) from JWT token
@@ -35,6 +32,11 @@ public interface JwtService {
      * Extract user ID from JWT token
      */
     Long extractUserId(String token);
+
+    /**
+     * Verify JWT token signature and expiry once, reusing an earlier verification of the same token
+     */
+    VerifiedToken verify(String token);
     
     /**
      * Extract expiration date from JWT token
@@ -0,0 +1,32 @@
+package com.openclassrooms.mddapi.service;
+
+import com.openclassrooms.mddapi.dto.response.SuggestionResponse;
+
+import java.util.List;
+
+public interface SuggestionService {
+
+    /**
+     * Most popular completions of a prefix, best first
+     *
+     * @param prefix What the user typed so far, matched against the start of any of the first words of a label
+     * @param type   Kind of labels to complete, or null for all of them
+     * @param limit  Maximum number of completions, null for the configured maximum
+     */
+    List<SuggestionResponse> suggest(String prefix, SuggestionResponse.Type type, Integer limit);
+
+    /**
+     * Re-read every label and its popularity, replacing the indexes once they are built
+     */
+    void rebuild();
+
+    /**
+     * Re-read one theme once the current transaction commits (created, renamed, deleted, subscribers changed)
+     */
+    void refreshTheme(Long themeId);
+
+    /**
+     * Re-read one user once the current transaction commits (registered or renamed)
+     */
+    void refreshUser(Long userId);
+}
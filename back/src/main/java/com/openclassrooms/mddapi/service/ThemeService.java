@@ -1,7 +1,9 @@
 package com.openclassrooms.mddapi.service;
 
+import com.openclassrooms.mddapi.cache.ThemeCatalogSnapshot;
 import com.openclassrooms.mddapi.dto.request.CreateThemeRequest;
 import com.openclassrooms.mddapi.dto.response.ThemeResponse;
+import com.openclassrooms.mddapi.util.ResourceVersion;
 
 import java.util.List;
 
@@ -11,8 +13,20 @@ public interface ThemeService {
 
     List<ThemeResponse> getAllThemes();
 
+    /**
+     * Current in-memory catalog: the list, its validators and its pre-serialized JSON body, all from one snapshot
+     */
+    ThemeCatalogSnapshot getCatalog();
+
     ThemeResponse getThemeById(Long id);
 
+    /**
+     * Validators of getAllThemes and getThemeById, without loading any theme
+     */
+    ResourceVersion getAllThemesVersion();
+
+    ResourceVersion getThemeVersion(Long id);
+
     ThemeResponse updateTheme(Long id, CreateThemeRequest request);
 
     void deleteTheme(Long id);
@@ -0,0 +1,34 @@
+package com.openclassrooms.mddapi.service;
+
+import java.util.Set;
+
+public interface TimelineService {
+
+    /**
+     * Whether feeds are served from the materialized user timelines
+     */
+    boolean isEnabled();
+
+    /**
+     * Themes with more subscribers than the fan-out threshold
+     * Their articles are not fanned out and are merged into feeds at read time
+     */
+    Set<Long> getHotThemeIds();
+
+    /**
+     * Copy the latest articles of a theme into the user's timeline after a subscription
+     * Deferred until the caller's transaction commits, when there is one
+     */
+    void backfill(Long userId, Long themeId);
+
+    /**
+     * Remove a theme's articles from the user's timeline after an unsubscription
+     * Deferred until the caller's transaction commits, when there is one
+     */
+    void prune(Long userId, Long themeId);
+
+    /**
+     * Recompute the hot theme set, backfilling themes that dropped back under the threshold
+     */
+    void refreshHotThemes();
+}
@@ -1,24 +1,35 @@
 package com.openclassrooms.mddapi.service;
 
-import java.util.Date;
+import com.openclassrooms.mddapi.security.RevocationKey;
+import com.openclassrooms.mddapi.security.VerifiedToken;
+
+import java.time.Instant;
 
 public interface TokenBlacklistService {
     
     /**
-     * Add a token to the blacklist
+     * Add a token to the blacklist until it expires
+     * The revocation is stored and broadcast to the other instances when the blacklist is shared
+     * 
+     * @param token Verified JWT token to blacklist
+     */
+    void blacklistToken(VerifiedToken token);
+
+    /**
+     * Record a revocation already stored by some instance, in this instance's memory only
      * 
-     * @param token JWT token to blacklist
-     * @param expiration Token expiration date for cleanup
+     * @param key Revocation key of the token
+     * @param expiresAt Expiry of the token, after which the revocation can be forgotten
      */
-    void blacklistToken(String token, Date expiration);
+    void applyRevocation(RevocationKey key, Instant expiresAt);
     
     /**
      * Check if a token is blacklisted
      * 
-     * @param token JWT token to check
+     * @param token Verified JWT token to check
      * @return true if token is blacklisted
      */
-    boolean isTokenBlacklisted(String token);
+    boolean isTokenBlacklisted(VerifiedToken token);
     
     /**
      * Remove expired tokens from blacklist
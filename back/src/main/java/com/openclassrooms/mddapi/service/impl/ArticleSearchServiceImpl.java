@@ -0,0 +1,91 @@
+package com.openclassrooms.mddapi.service.impl;
+
+import com.openclassrooms.mddapi.dto.response.ArticleSearchHitResponse;
+import com.openclassrooms.mddapi.dto.response.SearchPageResponse;
+import com.openclassrooms.mddapi.pagination.PageSizePolicy;
+import com.openclassrooms.mddapi.search.ArticleSearchEngine;
+import com.openclassrooms.mddapi.search.PostgresSearchEngine;
+import com.openclassrooms.mddapi.search.SearchMode;
+import com.openclassrooms.mddapi.search.TrigramSearchEngine;
+import com.openclassrooms.mddapi.service.ArticleSearchService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Article search entry point
+ * Full-text queries run on the engine named by app.search.engine, falling back to PostgreSQL while it is not ready;
+ * fuzzy queries always run on the trigram engine.
+ * Results are capped at app.search.max-results: deeper pages are empty rather than ranking everything.
+ * Query latency is recorded per engine in the article.search timer.
+ */
+@Service
+@Slf4j
+public class ArticleSearchServiceImpl implements ArticleSearchService {
+
+    @Autowired
+    private List<ArticleSearchEngine> engines;
+
+    @Autowired
+    private PostgresSearchEngine postgresSearchEngine;
+
+    @Autowired
+    private TrigramSearchEngine trigramSearchEngine;
+
+    @Autowired
+    private PageSizePolicy pageSizePolicy;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${app.search.engine:postgres}")
+    private String engineName;
+
+    @Value("${app.search.max-results:200}")
+    private int maxResults;
+
+    private ArticleSearchEngine engine;
+
+    @PostConstruct
+    void selectEngine() {
+        engine = engines.stream()
+                .filter(candidate -> candidate.getName().equals(engineName))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("Unknown search engine: " + engineName));
+        log.info("Article search engine: {}", engine.getName());
+    }
+
+    @Override
+    public SearchPageResponse<ArticleSearchHitResponse> search(String query, SearchMode mode, Integer page, Integer size) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query must not be blank");
+        }
+        int pageIndex = page == null ? 0 : page;
+        if (pageIndex < 0) {
+            throw new IllegalArgumentException("Page must not be negative");
+        }
+        int pageSize = pageSizePolicy.resolve(size);
+        SearchMode resolvedMode = mode == null ? SearchMode.FULL_TEXT : mode;
+        log.info("Searching articles for '{}', mode: {}, page: {}, size: {}", query, resolvedMode, pageIndex, pageSize);
+
+        long offset = (long) pageIndex * pageSize;
+        if (offset >= maxResults) {
+            return new SearchPageResponse<>(List.of(), pageIndex, pageSize, false);
+        }
+
+        ArticleSearchEngine current = resolvedMode == SearchMode.FUZZY ? trigramSearchEngine
+                : engine.isReady() ? engine : postgresSearchEngine;
+        int limit = (int) Math.min(pageSize + 1, maxResults - offset);
+        List<ArticleSearchHitResponse> rows = meterRegistry.timer("article.search", "engine", current.getName())
+                .record(() -> current.search(query.trim(), limit, (int) offset));
+
+        boolean hasNext = rows.size() > pageSize;
+        List<ArticleSearchHitResponse> hits = hasNext ? rows.subList(0, pageSize) : rows;
+        return new SearchPageResponse<>(hits, pageIndex, pageSize, hasNext);
+    }
+}
@@ -1,24 +1,37 @@
 package com.openclassrooms.mddapi.service.impl;
 
+import com.openclassrooms.mddapi.cache.ArticleBuffer;
+import com.openclassrooms.mddapi.cache.ArticleSummary;
+import com.openclassrooms.mddapi.cache.ThemeCatalog;
 import com.openclassrooms.mddapi.dto.request.CreateArticleRequest;
 import com.openclassrooms.mddapi.dto.response.ArticleResponse;
+import com.openclassrooms.mddapi.dto.response.ArticleSummaryResponse;
+import com.openclassrooms.mddapi.dto.response.CursorPageResponse;
 import com.openclassrooms.mddapi.dto.response.ThemeResponse;
+import com.openclassrooms.mddapi.event.ArticleEvent;
 import com.openclassrooms.mddapi.exception.ArticleNotFoundException;
 import com.openclassrooms.mddapi.exception.ThemeNotFoundException;
 import com.openclassrooms.mddapi.exception.UnauthorizedOperationException;
 import com.openclassrooms.mddapi.model.Article;
 import com.openclassrooms.mddapi.model.Theme;
 import com.openclassrooms.mddapi.model.User;
+import com.openclassrooms.mddapi.pagination.Cursor;
+import com.openclassrooms.mddapi.pagination.PageSizePolicy;
 import com.openclassrooms.mddapi.repository.ArticleRepository;
-import com.openclassrooms.mddapi.repository.CommentRepository;
 import com.openclassrooms.mddapi.repository.ThemeRepository;
+import com.openclassrooms.mddapi.repository.projection.ArticleVersion;
 import com.openclassrooms.mddapi.service.ArticleService;
+import com.openclassrooms.mddapi.util.ResourceVersion;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Optional;
 
 @Service
 @Slf4j
@@ -31,32 +44,49 @@ public class ArticleServiceImpl implements ArticleService {
     private ThemeRepository themeRepository;
 
     @Autowired
-    private CommentRepository commentRepository;
+    private PageSizePolicy pageSizePolicy;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ArticleBuffer articleBuffer;
+
+    @Autowired
+    private ThemeCatalog themeCatalog;
 
     @Override
+    @Transactional
     public ArticleResponse createArticle(CreateArticleRequest request, User author) {
-        log.info("Creating new article with title: {} by author: {}", request.getTitle(), author.getUsername());
+        log.info("Creating new article with title: {} by author ID: {}", request.getTitle(), author.getId());
 
-        Theme theme = themeRepository.findById(request.getThemeId())
-                .orElseThrow(() -> new ThemeNotFoundException(request.getThemeId()));
+        Theme theme = themeReference(request.getThemeId());
 
         Article article = new Article(request.getTitle(), request.getContent(), author, theme);
         Article savedArticle = articleRepository.save(article);
+        eventPublisher.publishEvent(new ArticleEvent(
+                ArticleEvent.Type.CREATED, savedArticle.getId(), theme.getId(), theme.getId()));
 
         log.info("Article created successfully with ID: {}", savedArticle.getId());
         return convertToResponse(savedArticle);
     }
 
     @Override
-    public List<ArticleResponse> getAllArticles() {
-        log.info("Fetching all articles");
-        return articleRepository.findAllOrderByCreatedAtDesc()
-                .stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public CursorPageResponse<ArticleSummaryResponse> getAllArticles(String cursor, Integer size) {
+        log.info("Fetching articles page, cursor: {}", cursor);
+        Cursor after = Cursor.decode(cursor);
+        int pageSize = pageSizePolicy.resolve(size);
+        Pageable limit = PageRequest.ofSize(pageSize + 1);
+
+        List<ArticleSummaryResponse> rows = after == null
+                ? articleRepository.findFirstPage(limit)
+                : articleRepository.findPageAfter(after.getCreatedAt(), after.getId(), limit);
+        return toPage(rows, pageSize);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public ArticleResponse getArticleById(Long id) {
         log.info("Fetching article with ID: {}", id);
         Article article = articleRepository.findById(id)
@@ -65,38 +95,107 @@ public class ArticleServiceImpl implements ArticleService {
     }
 
     @Override
-    public List<ArticleResponse> getArticlesByAuthor(User author) {
-        log.info("Fetching articles by author: {}", author.getUsername());
-        return articleRepository.findByAuthorOrderByCreatedAtDesc(author)
-                .stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public ResourceVersion getArticleVersion(Long id) {
+        ArticleVersion version = articleRepository.findVersionById(id)
+                .orElseThrow(() -> new ArticleNotFoundException(id));
+        return ResourceVersion.of(version.lastModified(), "article", version.fingerprint());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ResourceVersion getAllArticlesVersion(String cursor, Integer size) {
+        Cursor after = Cursor.decode(cursor);
+        int pageSize = pageSizePolicy.resolve(size);
+        Pageable limit = PageRequest.ofSize(pageSize + 1);
+
+        List<ArticleVersion> rows = after == null
+                ? articleRepository.findVersionsFirstPage(limit)
+                : articleRepository.findVersionsPageAfter(after.getCreatedAt(), after.getId(), limit);
+        return toPageVersion(rows, "articles", null, cursor, pageSize);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ResourceVersion getArticlesByAuthorVersion(User author, String cursor, Integer size) {
+        Cursor after = Cursor.decode(cursor);
+        int pageSize = pageSizePolicy.resolve(size);
+        Pageable limit = PageRequest.ofSize(pageSize + 1);
+
+        List<ArticleVersion> rows = after == null
+                ? articleRepository.findVersionsFirstPageByAuthor(author.getId(), limit)
+                : articleRepository.findVersionsPageByAuthorAfter(author.getId(), after.getCreatedAt(), after.getId(), limit);
+        return toPageVersion(rows, "articles-by-author", author.getId(), cursor, pageSize);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ResourceVersion getArticlesByThemeVersion(Long themeId, String cursor, Integer size) {
+        Cursor after = Cursor.decode(cursor);
+        int pageSize = pageSizePolicy.resolve(size);
+        Pageable limit = PageRequest.ofSize(pageSize + 1);
+
+        // Same source as getArticlesByTheme, so the ETag describes the rows that would be sent
+        if (after == null) {
+            Optional<List<ArticleSummary>> buffered = articleBuffer.firstPage(themeId, pageSize + 1);
+            if (buffered.isPresent()) {
+                return toPageVersion(buffered.get(), "articles-by-theme", themeId, cursor, pageSize);
+            }
+        }
+
+        if (!themeCatalog.exists(themeId)) {
+            throw new ThemeNotFoundException(themeId);
+        }
+
+        List<ArticleVersion> rows = after == null
+                ? articleRepository.findVersionsFirstPageByTheme(themeId, limit)
+                : articleRepository.findVersionsPageByThemeAfter(themeId, after.getCreatedAt(), after.getId(), limit);
+        return toPageVersion(rows, "articles-by-theme", themeId, cursor, pageSize);
     }
 
     @Override
-    public List<ArticleResponse> getArticlesByTheme(Long themeId) {
-        log.info("Fetching articles by theme ID: {}", themeId);
-        Theme theme = themeRepository.findById(themeId)
-                .orElseThrow(() -> new ThemeNotFoundException(themeId));
-
-        return articleRepository.findByThemeOrderByCreatedAtDesc(theme)
-                .stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public CursorPageResponse<ArticleSummaryResponse> getArticlesByAuthor(User author, String cursor, Integer size) {
+        log.info("Fetching articles page by author ID: {}, cursor: {}", author.getId(), cursor);
+        Cursor after = Cursor.decode(cursor);
+        int pageSize = pageSizePolicy.resolve(size);
+        Pageable limit = PageRequest.ofSize(pageSize + 1);
+
+        List<ArticleSummaryResponse> rows = after == null
+                ? articleRepository.findFirstPageByAuthor(author.getId(), limit)
+                : articleRepository.findPageByAuthorAfter(author.getId(), after.getCreatedAt(), after.getId(), limit);
+        return toPage(rows, pageSize);
     }
 
     @Override
-    public List<ArticleResponse> searchArticles(String keyword) {
-        log.info("Searching articles with keyword: {}", keyword);
-        return articleRepository.findByTitleContainingOrContentContainingOrderByCreatedAtDesc(keyword)
-                .stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public CursorPageResponse<ArticleSummaryResponse> getArticlesByTheme(Long themeId, String cursor, Integer size) {
+        log.info("Fetching articles page by theme ID: {}, cursor: {}", themeId, cursor);
+        Cursor after = Cursor.decode(cursor);
+        int pageSize = pageSizePolicy.resolve(size);
+        Pageable limit = PageRequest.ofSize(pageSize + 1);
+
+        if (after == null) {
+            Optional<List<ArticleSummary>> buffered = articleBuffer.firstPage(themeId, pageSize + 1);
+            if (buffered.isPresent()) {
+                return toPage(buffered.get().stream().map(ArticleSummary::toResponse).toList(), pageSize);
+            }
+        }
+
+        if (!themeCatalog.exists(themeId)) {
+            throw new ThemeNotFoundException(themeId);
+        }
+
+        List<ArticleSummaryResponse> rows = after == null
+                ? articleRepository.findFirstPageByTheme(themeId, limit)
+                : articleRepository.findPageByThemeAfter(themeId, after.getCreatedAt(), after.getId(), limit);
+        return toPage(rows, pageSize);
     }
 
     @Override
+    @Transactional
     public ArticleResponse updateArticle(Long id, CreateArticleRequest request, User author) {
-        log.info("Updating article with ID: {} by author: {}", id, author.getUsername());
+        log.info("Updating article with ID: {} by author ID: {}", id, author.getId());
 
         Article article = articleRepository.findById(id)
                 .orElseThrow(() -> new ArticleNotFoundException(id));
@@ -105,21 +204,24 @@ public class ArticleServiceImpl implements ArticleService {
             throw new UnauthorizedOperationException("User not authorized to update this article");
         }
 
-        Theme theme = themeRepository.findById(request.getThemeId())
-                .orElseThrow(() -> new ThemeNotFoundException(request.getThemeId()));
+        Theme theme = themeReference(request.getThemeId());
 
+        Long previousThemeId = article.getTheme().getId();
         article.setTitle(request.getTitle());
         article.setContent(request.getContent());
         article.setTheme(theme);
 
         Article updatedArticle = articleRepository.save(article);
+        eventPublisher.publishEvent(new ArticleEvent(
+                ArticleEvent.Type.UPDATED, updatedArticle.getId(), theme.getId(), previousThemeId));
         log.info("Article updated successfully with ID: {}", updatedArticle.getId());
         return convertToResponse(updatedArticle);
     }
 
     @Override
+    @Transactional
     public void deleteArticle(Long id, User author) {
-        log.info("Deleting article with ID: {} by author: {}", id, author.getUsername());
+        log.info("Deleting article with ID: {} by author ID: {}", id, author.getId());
 
         Article article = articleRepository.findById(id)
                 .orElseThrow(() -> new ArticleNotFoundException(id));
@@ -128,20 +230,49 @@ public class ArticleServiceImpl implements ArticleService {
             throw new UnauthorizedOperationException("User not authorized to delete this article");
         }
 
+        Long themeId = article.getTheme().getId();
         articleRepository.delete(article);
+        eventPublisher.publishEvent(new ArticleEvent(ArticleEvent.Type.DELETED, id, themeId, themeId));
         log.info("Article deleted successfully with ID: {}", id);
     }
 
-    private ArticleResponse convertToResponse(Article article) {
-        ThemeResponse themeResponse = new ThemeResponse(
-                article.getTheme().getId(),
-                article.getTheme().getName(),
-                article.getTheme().getDescription(),
-                article.getTheme().getCreatedAt(),
-                article.getTheme().getUpdatedAt()
-        );
+    private CursorPageResponse<ArticleSummaryResponse> toPage(List<ArticleSummaryResponse> rows, int pageSize) {
+        return CursorPageResponse.of(rows, pageSize, article -> new Cursor(article.getCreatedAt(), article.getId()));
+    }
+
+    /**
+     * Rows are fetched with one extra so that a next page appearing or disappearing changes the ETag
+     * No Last-Modified: a row leaving the page changes the list without making it any newer
+     */
+    private ResourceVersion toPageVersion(List<? extends ArticleVersion> rows, String scope, Long scopeId,
+                                          String cursor, int pageSize) {
+        StringBuilder page = new StringBuilder();
+        for (ArticleVersion row : rows) {
+            page.append(row.fingerprint()).append(';');
+        }
+        return ResourceVersion.of(null, scope, scopeId, cursor, pageSize, page);
+    }
 
-        int commentsCount = (int) commentRepository.countByArticle(article);
+    /**
+     * Theme checked against the catalog, as an uninitialized reference: setting it on an article needs only the id
+     */
+    private Theme themeReference(Long themeId) {
+        if (!themeCatalog.exists(themeId)) {
+            throw new ThemeNotFoundException(themeId);
+        }
+        return themeRepository.getReferenceById(themeId);
+    }
+
+    private ArticleResponse convertToResponse(Article article) {
+        // Reading the id does not initialize the theme proxy, the rest comes from the catalog
+        Theme theme = article.getTheme();
+        ThemeResponse themeResponse = themeCatalog.find(theme.getId())
+                .orElseGet(() -> new ThemeResponse(
+                        theme.getId(),
+                        theme.getName(),
+                        theme.getDescription(),
+                        theme.getCreatedAt(),
+                        theme.getUpdatedAt()));
 
         return new ArticleResponse(
                 article.getId(),
@@ -149,7 +280,7 @@ public class ArticleServiceImpl implements ArticleService {
                 article.getContent(),
                 article.getAuthor().getUsername(),
                 themeResponse,
-                commentsCount,
+                article.getCommentsCount(),
                 article.getCreatedAt(),
                 article.getUpdatedAt()
         );
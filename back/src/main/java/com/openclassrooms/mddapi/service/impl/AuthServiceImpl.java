@@ -1,7 +1,6 @@
 package com.openclassrooms.mddapi.service.impl;
 
 import java.time.LocalDateTime;
-import java.util.Date;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -12,6 +11,7 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import com.openclassrooms.mddapi.cache.ArticleBuffer;
 import com.openclassrooms.mddapi.dto.request.LoginRequest;
 import com.openclassrooms.mddapi.dto.request.RegisterRequest;
 import com.openclassrooms.mddapi.dto.request.UpdateProfileRequest;
@@ -22,8 +22,10 @@ import com.openclassrooms.mddapi.exception.UserAlreadyExistsException;
 import com.openclassrooms.mddapi.exception.UserNotFoundException;
 import com.openclassrooms.mddapi.model.User;
 import com.openclassrooms.mddapi.repository.UserRepository;
+import com.openclassrooms.mddapi.security.VerifiedToken;
 import com.openclassrooms.mddapi.service.AuthService;
 import com.openclassrooms.mddapi.service.JwtService;
+import com.openclassrooms.mddapi.service.SuggestionService;
 import com.openclassrooms.mddapi.service.TokenBlacklistService;
 
 @Slf4j
@@ -35,6 +37,8 @@ public class AuthServiceImpl implements AuthService {
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
     private final TokenBlacklistService tokenBlacklistService;
+    private final ArticleBuffer articleBuffer;
+    private final SuggestionService suggestionService;
     
     @Value("${jwt.expiration}")
     private Long jwtExpirationInMs;
@@ -43,12 +47,16 @@ public class AuthServiceImpl implements AuthService {
                           PasswordEncoder passwordEncoder, 
                           JwtService jwtService,
                           AuthenticationManager authenticationManager,
-                          TokenBlacklistService tokenBlacklistService) {
+                          TokenBlacklistService tokenBlacklistService,
+                          ArticleBuffer articleBuffer,
+                          SuggestionService suggestionService) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.jwtService = jwtService;
         this.authenticationManager = authenticationManager;
         this.tokenBlacklistService = tokenBlacklistService;
+        this.articleBuffer = articleBuffer;
+        this.suggestionService = suggestionService;
     }
 
     /**
@@ -73,9 +81,10 @@ public class AuthServiceImpl implements AuthService {
         //Save user to Database
         User savedUser = userRepository.save(user);
         log.info("User registered successfully with ID: {}", savedUser.getId());
+        suggestionService.refreshUser(savedUser.getId());
 
         // Generate JWT token
-        String token = jwtService.generateToken(user.getEmail());
+        String token = jwtService.generateToken(savedUser);
 
         return AuthResponse.fromUser(token, savedUser, jwtExpirationInMs / 1000);
     }
@@ -103,7 +112,7 @@ public class AuthServiceImpl implements AuthService {
         SecurityContextHolder.getContext().setAuthentication(authentication);
 
         // Generate JWT token
-        String token = jwtService.generateToken(user.getEmail());
+        String token = jwtService.generateToken(user);
         
         log.info("User logged in successfully: {}", user.getEmail());
         return AuthResponse.fromUser(token, user, jwtExpirationInMs / 1000);
@@ -201,6 +210,9 @@ public class AuthServiceImpl implements AuthService {
         if (isUpdated) {
             // Remove manual timestamp setting - let @UpdateTimestamp handle it
             savedUser = userRepository.save(user);
+            // Buffered article rows carry the author's username
+            articleBuffer.evictAll();
+            suggestionService.refreshUser(savedUser.getId());
             log.info("Profile updated successfully for user: {}", email);
         } else {
             log.info("No changes detected for user profile: {}", email);
@@ -224,11 +236,11 @@ public class AuthServiceImpl implements AuthService {
     public void logout(String token) {
         log.info("Processing logout request");
 
-        // Extract expiration date from token for cleanup purposes
-        Date expiration = jwtService.extractExpiration(token);
+        // Verified token: its revocation key, and its expiry for cleanup purposes
+        VerifiedToken verified = jwtService.verify(token);
 
         // Add token to blacklist
-        tokenBlacklistService.blacklistToken(token, expiration);
+        tokenBlacklistService.blacklistToken(verified);
 
         log.info("User logged out successfully. Token blacklisted.");
     }
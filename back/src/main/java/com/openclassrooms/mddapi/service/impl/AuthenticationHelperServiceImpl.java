@@ -2,6 +2,7 @@ package com.openclassrooms.mddapi.service.impl;
 
 import com.openclassrooms.mddapi.model.User;
 import com.openclassrooms.mddapi.repository.UserRepository;
+import com.openclassrooms.mddapi.security.JwtUserPrincipal;
 import com.openclassrooms.mddapi.service.AuthenticationHelperService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.Authentication;
@@ -25,7 +26,13 @@ public class AuthenticationHelperServiceImpl implements AuthenticationHelperServ
             throw new IllegalArgumentException("Authentication is required");
         }
 
-        // Handle UserDetails from JWT authentication
+        // Claims-based JWT authentication: a reference loaded only if something reads past its id
+        if (authentication.getPrincipal() instanceof JwtUserPrincipal principal) {
+            log.debug("Referencing user ID: {} from JWT claims", principal.getUserId());
+            return userRepository.getReferenceById(principal.getUserId());
+        }
+
+        // Handle UserDetails from JWT authentication (tokens without the userId claim)
         if (authentication.getPrincipal() instanceof UserDetails userDetails) {
             String email = userDetails.getUsername();
             log.debug("Extracting user by email: {} from UserDetails", email);
@@ -43,7 +50,7 @@ public class AuthenticationHelperServiceImpl implements AuthenticationHelperServ
             return user;
         }
 
-        log.error("Principal is not an instance of User or UserDetails: {}", authentication.getPrincipal().getClass());
+        log.error("Principal is not a JwtUserPrincipal, User or UserDetails: {}", authentication.getPrincipal().getClass());
         throw new IllegalStateException("Invalid authentication principal type");
     }
 
@@ -0,0 +1,72 @@
+package com.openclassrooms.mddapi.service.impl;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.openclassrooms.mddapi.repository.ArticleRepository;
+import com.openclassrooms.mddapi.service.CommentCountReconciliationService;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Service
+public class CommentCountReconciliationServiceImpl implements CommentCountReconciliationService {
+
+    private final ArticleRepository articleRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.comments-count.reconcile.chunk-size:1000}")
+    private int chunkSize;
+
+    public CommentCountReconciliationServiceImpl(ArticleRepository articleRepository,
+                                                 TransactionTemplate transactionTemplate) {
+        this.articleRepository = articleRepository;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Override
+    public int reconcileCommentCounts() {
+        Long minId = articleRepository.findMinId();
+        Long maxId = articleRepository.findMaxId();
+
+        if (minId == null || maxId == null) {
+            return 0;
+        }
+
+        int repaired = 0;
+        for (long fromId = minId; fromId <= maxId; fromId += chunkSize) {
+            repaired += reconcileChunk(fromId, fromId + chunkSize);
+        }
+
+        if (repaired > 0) {
+            log.info("Repaired comments_count drift on {} articles", repaired);
+        }
+        return repaired;
+    }
+
+    /**
+     * One chunk in its own short transaction: lock the articles, then count from a fresh snapshot
+     * Counting in the locking statement would use a snapshot older than the lock and overwrite
+     * an increment that committed in between
+     */
+    private int reconcileChunk(long fromId, long toId) {
+        Integer repaired = transactionTemplate.execute(status -> {
+            articleRepository.lockRange(fromId, toId);
+            return articleRepository.reconcileCommentsCount(fromId, toId);
+        });
+        return repaired != null ? repaired : 0;
+    }
+
+    /**
+     * Scheduled reconciliation of denormalized comment counters
+     * Runs every hour by default
+     */
+    @Scheduled(initialDelayString = "${app.comments-count.reconcile.initial-delay-ms:60000}",
+               fixedDelayString = "${app.comments-count.reconcile.interval-ms:3600000}")
+    public void scheduledReconciliation() {
+        log.debug("Starting scheduled comments_count reconciliation");
+        reconcileCommentCounts();
+    }
+}
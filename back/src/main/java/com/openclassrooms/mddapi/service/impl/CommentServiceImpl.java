@@ -1,22 +1,39 @@
 package com.openclassrooms.mddapi.service.impl;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.openclassrooms.mddapi.dto.request.CreateCommentRequest;
 import com.openclassrooms.mddapi.dto.response.CommentResponse;
+import com.openclassrooms.mddapi.dto.response.CursorPageResponse;
+import com.openclassrooms.mddapi.event.ArticleEvent;
 import com.openclassrooms.mddapi.exception.ArticleNotFoundException;
 import com.openclassrooms.mddapi.exception.CommentNotFoundException;
 import com.openclassrooms.mddapi.exception.UnauthorizedOperationException;
 import com.openclassrooms.mddapi.model.Article;
 import com.openclassrooms.mddapi.model.Comment;
 import com.openclassrooms.mddapi.model.User;
+import com.openclassrooms.mddapi.pagination.Cursor;
+import com.openclassrooms.mddapi.pagination.PageSizePolicy;
 import com.openclassrooms.mddapi.repository.ArticleRepository;
 import com.openclassrooms.mddapi.repository.CommentRepository;
+import com.openclassrooms.mddapi.repository.projection.ListVersion;
 import com.openclassrooms.mddapi.service.CommentService;
+import com.openclassrooms.mddapi.util.JsonArrayWriter;
+import com.openclassrooms.mddapi.util.ResourceVersion;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Slf4j
@@ -28,34 +45,95 @@ public class CommentServiceImpl implements CommentService {
     @Autowired
     private ArticleRepository articleRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PageSizePolicy pageSizePolicy;
+
+    @Value("${app.streaming.flush-every:100}")
+    private int flushEvery;
+
     @Override
+    @Transactional
     public CommentResponse createComment(CreateCommentRequest request, User user) {
-        log.info("Creating new comment on article ID: {} by user: {}", request.getArticleId(), user.getUsername());
+        log.info("Creating new comment on article ID: {} by user ID: {}", request.getArticleId(), user.getId());
 
         Article article = articleRepository.findById(request.getArticleId())
                 .orElseThrow(() -> new ArticleNotFoundException(request.getArticleId()));
 
         Comment comment = new Comment(request.getContent(), user, article);
         Comment savedComment = commentRepository.save(comment);
+        articleRepository.incrementCommentsCount(article.getId(), LocalDateTime.now());
+        publishCommentsChanged(article);
 
         log.info("Comment created successfully with ID: {}", savedComment.getId());
         return convertToResponse(savedComment);
     }
 
     @Override
-    public List<CommentResponse> getCommentsByArticle(Long articleId) {
-        log.info("Fetching comments for article ID: {}", articleId);
+    @Transactional(readOnly = true)
+    public CursorPageResponse<CommentResponse> getCommentsByArticle(Long articleId, String cursor, Integer size,
+                                                                    Sort.Direction direction) {
+        log.info("Fetching comments page for article ID: {}, cursor: {}, direction: {}", articleId, cursor, direction);
+        Cursor after = Cursor.decode(cursor);
+        int pageSize = pageSizePolicy.resolve(size);
+        Pageable limit = PageRequest.ofSize(pageSize + 1);
+
+        List<CommentResponse> rows;
+        if (direction.isAscending()) {
+            rows = after == null
+                    ? commentRepository.findFirstPageOldestByArticleId(articleId, limit)
+                    : commentRepository.findPageOldestByArticleIdAfter(articleId, after.getCreatedAt(), after.getId(), limit);
+        } else {
+            rows = after == null
+                    ? commentRepository.findFirstPageNewestByArticleId(articleId, limit)
+                    : commentRepository.findPageNewestByArticleIdAfter(articleId, after.getCreatedAt(), after.getId(), limit);
+        }
+        if (rows.isEmpty() && !articleRepository.existsById(articleId)) {
+            throw new ArticleNotFoundException(articleId);
+        }
+        return toPage(rows, pageSize);
+    }
 
-        Article article = articleRepository.findById(articleId)
-                .orElseThrow(() -> new ArticleNotFoundException(articleId));
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageResponse<CommentResponse> getCommentsByUser(User user, String cursor, Integer size,
+                                                                 Sort.Direction direction) {
+        log.info("Fetching comments page by user ID: {}, cursor: {}, direction: {}", user.getId(), cursor, direction);
+        Cursor after = Cursor.decode(cursor);
+        int pageSize = pageSizePolicy.resolve(size);
+        Pageable limit = PageRequest.ofSize(pageSize + 1);
+
+        List<CommentResponse> rows;
+        if (direction.isAscending()) {
+            rows = after == null
+                    ? commentRepository.findFirstPageOldestByAuthorId(user.getId(), limit)
+                    : commentRepository.findPageOldestByAuthorIdAfter(user.getId(), after.getCreatedAt(), after.getId(), limit);
+        } else {
+            rows = after == null
+                    ? commentRepository.findFirstPageNewestByAuthorId(user.getId(), limit)
+                    : commentRepository.findPageNewestByAuthorIdAfter(user.getId(), after.getCreatedAt(), after.getId(), limit);
+        }
+        return toPage(rows, pageSize);
+    }
 
-        return commentRepository.findByArticleOrderByCreatedAtAsc(article)
-                .stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+    @Override
+    @Transactional(readOnly = true)
+    public void writeCommentsByArticle(Long articleId, OutputStream out) throws IOException {
+        log.info("Streaming comments for article ID: {}", articleId);
+
+        try (Stream<CommentResponse> comments = commentRepository.streamByArticleId(articleId)) {
+            long count = JsonArrayWriter.write(objectMapper, comments, out, flushEvery);
+            log.info("Streamed {} comments for article ID: {}", count, articleId);
+        }
     }
 
     @Override
+    @Transactional(readOnly = true)
     public CommentResponse getCommentById(Long id) {
         log.info("Fetching comment with ID: {}", id);
         Comment comment = commentRepository.findById(id)
@@ -64,8 +142,9 @@ public class CommentServiceImpl implements CommentService {
     }
 
     @Override
+    @Transactional
     public void deleteComment(Long id, User user) {
-        log.info("Deleting comment with ID: {} by user: {}", id, user.getUsername());
+        log.info("Deleting comment with ID: {} by user ID: {}", id, user.getId());
 
         Comment comment = commentRepository.findById(id)
                 .orElseThrow(() -> new CommentNotFoundException(id));
@@ -75,16 +154,69 @@ public class CommentServiceImpl implements CommentService {
         }
 
         commentRepository.delete(comment);
+        articleRepository.decrementCommentsCount(comment.getArticle().getId());
+        publishCommentsChanged(comment.getArticle());
         log.info("Comment deleted successfully with ID: {}", id);
     }
 
     @Override
-    public List<CommentResponse> getCommentsByUser(String username) {
-        log.info("Fetching comments by user: {}", username);
-        return commentRepository.findByAuthor_Username(username)
-                .stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public void writeCommentsByUser(Long userId, OutputStream out) throws IOException {
+        log.info("Streaming comments by user ID: {}", userId);
+
+        try (Stream<CommentResponse> comments = commentRepository.streamByAuthorId(userId)) {
+            long count = JsonArrayWriter.write(objectMapper, comments, out, flushEvery);
+            log.info("Streamed {} comments by user ID: {}", count, userId);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ResourceVersion getCommentsByArticleVersion(Long articleId) {
+        ListVersion version = commentRepository.findListVersionByArticleId(articleId)
+                .orElseThrow(() -> new ArticleNotFoundException(articleId));
+        // No Last-Modified on lists: a deleted comment changes the list without making it any newer
+        return ResourceVersion.of(null, "comments-by-article", articleId, version.getCount(), version.getLastUpdatedAt());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ResourceVersion getCommentVersion(Long id) {
+        LocalDateTime lastUpdatedAt = commentRepository.findLastUpdatedAtById(id)
+                .orElseThrow(() -> new CommentNotFoundException(id));
+        return ResourceVersion.of(lastUpdatedAt, "comment", id, lastUpdatedAt);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ResourceVersion getCommentsByUserVersion(Long userId) {
+        ListVersion version = commentRepository.findListVersionByAuthorId(userId);
+        return ResourceVersion.of(null, "comments-by-user", userId, version.getCount(), version.getLastUpdatedAt());
+    }
+
+    /**
+     * Every row shows its id, author username and last update (content changes touch updatedAt),
+     * and the next cursor tells whether a further page exists: together they are the whole representation
+     * No Last-Modified: a comment leaving the page changes it without making it any newer
+     */
+    @Override
+    public ResourceVersion getPageVersion(CursorPageResponse<CommentResponse> page) {
+        StringBuilder rows = new StringBuilder();
+        for (CommentResponse comment : page.getItems()) {
+            rows.append(comment.getId()).append(':')
+                    .append(comment.getUsername()).append(':')
+                    .append(comment.getUpdatedAt()).append(';');
+        }
+        return ResourceVersion.of(null, "comments-page", rows, page.getNextCursor());
+    }
+
+    private CursorPageResponse<CommentResponse> toPage(List<CommentResponse> rows, int pageSize) {
+        return CursorPageResponse.of(rows, pageSize, comment -> new Cursor(comment.getCreatedAt(), comment.getId()));
+    }
+
+    private void publishCommentsChanged(Article article) {
+        Long themeId = article.getTheme().getId();
+        eventPublisher.publishEvent(new ArticleEvent(ArticleEvent.Type.COMMENTS_CHANGED, article.getId(), themeId, themeId));
     }
 
     private CommentResponse convertToResponse(Comment comment) {
@@ -1,6 +1,5 @@
 package com.openclassrooms.mddapi.service.impl;
 
-import java.util.ArrayList;
 import java.util.Optional;
 
 import lombok.extern.slf4j.Slf4j;
@@ -11,6 +10,7 @@ import org.springframework.stereotype.Service;
 
 import com.openclassrooms.mddapi.model.User;
 import com.openclassrooms.mddapi.repository.UserRepository;
+import com.openclassrooms.mddapi.security.UserAuthorities;
 
 /**
  * Custom UserDetailsService implementation for JWT authentication
@@ -22,9 +22,11 @@ public class CustomUserDetailsServiceImpl implements UserDetailsService {
     
     
     private final UserRepository userRepository;
+    private final UserAuthorities userAuthorities;
     
-    public CustomUserDetailsServiceImpl(UserRepository userRepository) {
+    public CustomUserDetailsServiceImpl(UserRepository userRepository, UserAuthorities userAuthorities) {
         this.userRepository = userRepository;
+        this.userAuthorities = userAuthorities;
     }
     
     /**
@@ -36,7 +38,9 @@ public class CustomUserDetailsServiceImpl implements UserDetailsService {
     public UserDetails loadUserByUsername(String emailOrUsername) throws UsernameNotFoundException {
         log.debug("Loading user by email or username: {}", emailOrUsername);
 
-        Optional<User> userOptional = userRepository.findByEmailOrUsername(emailOrUsername, emailOrUsername);
+        // Tokens carry the email: try the cached natural-id lookup before the username query
+        Optional<User> userOptional = userRepository.findByEmail(emailOrUsername)
+                .or(() -> userRepository.findByUsername(emailOrUsername));
 
         if (userOptional.isEmpty()) {
             log.warn("User not found with email or username: {}", emailOrUsername);
@@ -50,7 +54,7 @@ public class CustomUserDetailsServiceImpl implements UserDetailsService {
         return org.springframework.security.core.userdetails.User.builder()
                 .username(user.getEmail())
                 .password(user.getPassword())
-                .authorities(new ArrayList<>()) // Empty authorities for now
+                .authorities(userAuthorities.of(user.getEmail()))
                 .accountExpired(false)
                 .accountLocked(false)
                 .credentialsExpired(false)
@@ -0,0 +1,219 @@
+package com.openclassrooms.mddapi.service.impl;
+
+import com.openclassrooms.mddapi.cache.ArticleBuffer;
+import com.openclassrooms.mddapi.cache.ArticleSummary;
+import com.openclassrooms.mddapi.dto.response.ArticleSummaryResponse;
+import com.openclassrooms.mddapi.dto.response.CursorPageResponse;
+import com.openclassrooms.mddapi.model.User;
+import com.openclassrooms.mddapi.pagination.Cursor;
+import com.openclassrooms.mddapi.pagination.FeedPage;
+import com.openclassrooms.mddapi.pagination.PageSizePolicy;
+import com.openclassrooms.mddapi.repository.ArticleRepository;
+import com.openclassrooms.mddapi.repository.SubscriptionRepository;
+import com.openclassrooms.mddapi.repository.TimelineRepository;
+import com.openclassrooms.mddapi.repository.projection.ArticleKey;
+import com.openclassrooms.mddapi.repository.projection.ArticleVersion;
+import com.openclassrooms.mddapi.service.FeedService;
+import com.openclassrooms.mddapi.service.TimelineService;
+import com.openclassrooms.mddapi.util.ETags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Subscribed-theme feed
+ * With fan-out enabled the page keys come from the user's timeline (one index range scan), merged with
+ * the latest articles of the hot themes the user follows. Without it they come from a join on subscriptions.
+ * The newest-first first page is answered from ArticleBuffer when every subscribed theme is buffered.
+ */
+@Service
+@Slf4j
+@Transactional(readOnly = true)
+public class FeedServiceImpl implements FeedService {
+
+    // Stand-in for an empty NOT IN list, article and theme ids start at 1
+    private static final List<Long> NO_THEMES = List.of(0L);
+
+    private static final Comparator<ArticleKey> OLDEST_FIRST =
+            Comparator.comparing(ArticleKey::getCreatedAt).thenComparing(ArticleKey::getId);
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private TimelineRepository timelineRepository;
+
+    @Autowired
+    private SubscriptionRepository subscriptionRepository;
+
+    @Autowired
+    private TimelineService timelineService;
+
+    @Autowired
+    private PageSizePolicy pageSizePolicy;
+
+    @Autowired
+    private ArticleBuffer articleBuffer;
+
+    @Override
+    public FeedPage getFeedPage(User user, String cursor, Integer size, Sort.Direction direction) {
+        log.info("Resolving feed page for user ID: {}, cursor: {}, direction: {}", user.getId(), cursor, direction);
+        Cursor after = Cursor.decode(cursor);
+        int pageSize = pageSizePolicy.resolve(size);
+        Pageable limit = PageRequest.ofSize(pageSize + 1);
+
+        if (after == null && direction.isDescending()) {
+            List<Long> themeIds = subscriptionRepository.findThemeIdsByUserId(user.getId());
+            Optional<List<ArticleSummary>> buffered = articleBuffer.firstPage(themeIds, pageSize + 1);
+            if (buffered.isPresent()) {
+                CursorPageResponse<ArticleSummary> page = CursorPageResponse
+                        .of(buffered.get(), pageSize, summary -> new Cursor(summary.getCreatedAt(), summary.getId()));
+                return new FeedPage(
+                        page.map(ArticleSummary::getId),
+                        computeETag(page.getItems(), user.getId(), direction, cursor, pageSize),
+                        page.getItems().stream().map(ArticleSummary::toResponse).toList());
+            }
+        }
+
+        List<ArticleKey> keys = timelineService.isEnabled()
+                ? findTimelineKeys(user.getId(), after, direction, limit)
+                : findSubscriptionKeys(user.getId(), after, direction, limit);
+
+        CursorPageResponse<Long> ids = CursorPageResponse
+                .of(keys, pageSize, key -> new Cursor(key.getCreatedAt(), key.getId()))
+                .map(ArticleKey::getId);
+
+        return new FeedPage(ids, computeETag(findVersions(ids.getItems()), user.getId(), direction, cursor, pageSize), null);
+    }
+
+    @Override
+    public CursorPageResponse<ArticleSummaryResponse> loadFeedPage(FeedPage page) {
+        if (page.getArticles() != null) {
+            return new CursorPageResponse<>(page.getArticles(), page.getArticleIds().getNextCursor(), page.getArticleIds().isHasNext());
+        }
+
+        List<Long> ids = page.getArticleIds().getItems();
+        if (ids.isEmpty()) {
+            return new CursorPageResponse<>(List.of(), null, false);
+        }
+
+        Map<Long, ArticleSummaryResponse> articles = articleRepository.findSummaryResponsesByIdIn(ids).stream()
+                .collect(Collectors.toMap(ArticleSummaryResponse::getId, Function.identity()));
+
+        // An article deleted between the two queries is simply left out of the page
+        List<ArticleSummaryResponse> items = ids.stream()
+                .map(articles::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        return new CursorPageResponse<>(items, page.getArticleIds().getNextCursor(), page.getArticleIds().isHasNext());
+    }
+
+    private List<ArticleKey> findTimelineKeys(Long userId, Cursor after, Sort.Direction direction, Pageable limit) {
+        Set<Long> hotThemeIds = timelineService.getHotThemeIds();
+        List<Long> followedHotThemeIds = hotThemeIds.isEmpty()
+                ? List.of()
+                : subscriptionRepository.findThemeIdsByUserId(userId).stream()
+                        .filter(hotThemeIds::contains)
+                        .collect(Collectors.toList());
+        List<Long> excluded = hotThemeIds.isEmpty() ? NO_THEMES : List.copyOf(hotThemeIds);
+
+        List<ArticleKey> timeline;
+        if (direction.isAscending()) {
+            timeline = after == null
+                    ? timelineRepository.findFirstPageOldest(userId, excluded, limit)
+                    : timelineRepository.findPageOldestAfter(userId, excluded, after.getCreatedAt(), after.getId(), limit);
+        } else {
+            timeline = after == null
+                    ? timelineRepository.findFirstPageNewest(userId, excluded, limit)
+                    : timelineRepository.findPageNewestAfter(userId, excluded, after.getCreatedAt(), after.getId(), limit);
+        }
+        if (followedHotThemeIds.isEmpty()) {
+            return timeline;
+        }
+
+        List<ArticleKey> hot;
+        if (direction.isAscending()) {
+            hot = after == null
+                    ? articleRepository.findKeysByThemesFirstPageOldest(followedHotThemeIds, limit)
+                    : articleRepository.findKeysByThemesOldestAfter(followedHotThemeIds, after.getCreatedAt(), after.getId(), limit);
+        } else {
+            hot = after == null
+                    ? articleRepository.findKeysByThemesFirstPageNewest(followedHotThemeIds, limit)
+                    : articleRepository.findKeysByThemesNewestAfter(followedHotThemeIds, after.getCreatedAt(), after.getId(), limit);
+        }
+        return merge(timeline, hot, direction.isAscending() ? OLDEST_FIRST : OLDEST_FIRST.reversed(), limit.getPageSize());
+    }
+
+    private List<ArticleKey> findSubscriptionKeys(Long userId, Cursor after, Sort.Direction direction, Pageable limit) {
+        if (direction.isAscending()) {
+            return after == null
+                    ? articleRepository.findFeedKeysFirstPageOldest(userId, limit)
+                    : articleRepository.findFeedKeysOldestAfter(userId, after.getCreatedAt(), after.getId(), limit);
+        }
+        return after == null
+                ? articleRepository.findFeedKeysFirstPageNewest(userId, limit)
+                : articleRepository.findFeedKeysNewestAfter(userId, after.getCreatedAt(), after.getId(), limit);
+    }
+
+    /**
+     * Merge two key lists sorted in the same order, dropping duplicates, up to limit keys
+     */
+    private List<ArticleKey> merge(List<ArticleKey> left, List<ArticleKey> right, Comparator<ArticleKey> order, int limit) {
+        List<ArticleKey> merged = new ArrayList<>(Math.min(limit, left.size() + right.size()));
+        int i = 0;
+        int j = 0;
+        while (merged.size() < limit && (i < left.size() || j < right.size())) {
+            ArticleKey next;
+            if (j >= right.size() || (i < left.size() && order.compare(left.get(i), right.get(j)) <= 0)) {
+                next = left.get(i++);
+            } else {
+                next = right.get(j++);
+            }
+            if (merged.isEmpty() || !merged.get(merged.size() - 1).getId().equals(next.getId())) {
+                merged.add(next);
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Versions of the given articles in page order, deleted ones left out like in loadFeedPage
+     */
+    private List<ArticleVersion> findVersions(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, ArticleVersion> versions = articleRepository.findVersionsByIdIn(ids).stream()
+                .collect(Collectors.toMap(ArticleVersion::getId, Function.identity()));
+        return ids.stream()
+                .map(versions::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Same value whether the versions come from the database or from the buffer
+     */
+    private String computeETag(List<? extends ArticleVersion> versions, Long userId, Sort.Direction direction,
+                               String cursor, int pageSize) {
+        StringBuilder page = new StringBuilder();
+        for (ArticleVersion version : versions) {
+            page.append(version.fingerprint()).append(';');
+        }
+        return ETags.of("feed", userId, direction, cursor, pageSize, page);
+    }
+}
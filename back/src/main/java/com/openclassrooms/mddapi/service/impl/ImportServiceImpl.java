@@ -0,0 +1,157 @@
+package com.openclassrooms.mddapi.service.impl;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.openclassrooms.mddapi.dto.request.ArticleImportRecord;
+import com.openclassrooms.mddapi.dto.response.ImportResponse;
+import com.openclassrooms.mddapi.event.ArticlesImportedEvent;
+import com.openclassrooms.mddapi.model.Article;
+import com.openclassrooms.mddapi.repository.ArticleRepository;
+import com.openclassrooms.mddapi.repository.ThemeRepository;
+import com.openclassrooms.mddapi.repository.UserRepository;
+import com.openclassrooms.mddapi.service.ImportService;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk NDJSON import for content migrations
+ * Lines are parsed one by one and inserted in chunks of app.import.chunk-size, each in its own transaction:
+ * memory stays flat whatever the input size, and the pooled article ids let Hibernate send JDBC batches.
+ */
+@Service
+@Slf4j
+public class ImportServiceImpl implements ImportService {
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ThemeRepository themeRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.import.chunk-size:1000}")
+    private int chunkSize;
+
+    @Override
+    public ImportResponse importArticles(InputStream in) throws IOException {
+        log.info("Importing articles in chunks of {}", chunkSize);
+        long start = System.currentTimeMillis();
+        ObjectReader reader = objectMapper.readerFor(ArticleImportRecord.class)
+                .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+        long imported = 0;
+        long skipped = 0;
+        Set<Long> importedThemeIds = new HashSet<>();
+        List<ArticleImportRecord> chunk = new ArrayList<>(chunkSize);
+        try (MappingIterator<ArticleImportRecord> records = reader.readValues(in)) {
+            while (records.hasNextValue()) {
+                ArticleImportRecord record;
+                try {
+                    record = records.nextValue();
+                } catch (JsonMappingException e) {
+                    // Well-formed line with a wrong field type: the iterator resumes at the next line
+                    skipped++;
+                    continue;
+                }
+                if (!validator.validate(record).isEmpty()) {
+                    skipped++;
+                    continue;
+                }
+
+                chunk.add(record);
+                if (chunk.size() == chunkSize) {
+                    int inserted = insertChunk(chunk, importedThemeIds);
+                    imported += inserted;
+                    skipped += chunk.size() - inserted;
+                    chunk.clear();
+                    log.debug("Imported {} articles so far", imported);
+                }
+            }
+            if (!chunk.isEmpty()) {
+                int inserted = insertChunk(chunk, importedThemeIds);
+                imported += inserted;
+                skipped += chunk.size() - inserted;
+            }
+        } catch (JsonParseException e) {
+            throw new IllegalArgumentException("Malformed NDJSON at line " + e.getLocation().getLineNr()
+                    + ", " + imported + " articles already imported");
+        } finally {
+            if (imported > 0) {
+                eventPublisher.publishEvent(new ArticlesImportedEvent(imported, Set.copyOf(importedThemeIds)));
+            }
+        }
+
+        long elapsed = Math.max(1, System.currentTimeMillis() - start);
+        long rowsPerSecond = imported * 1000 / elapsed;
+        log.info("Imported {} articles ({} skipped) in {} ms ({} rows/s)", imported, skipped, elapsed, rowsPerSecond);
+        return new ImportResponse(imported, skipped, elapsed, rowsPerSecond);
+    }
+
+    /**
+     * Insert the lines of a chunk whose author and theme exist, in one transaction
+     *
+     * @param importedThemeIds Collects the themes of the inserted articles
+     * @return Number of articles inserted
+     */
+    private int insertChunk(List<ArticleImportRecord> chunk, Set<Long> importedThemeIds) {
+        Set<Long> chunkThemeIds = new HashSet<>();
+        Integer inserted = transactionTemplate.execute(status -> {
+            Set<Long> authorIds = userRepository.findExistingIds(
+                    chunk.stream().map(ArticleImportRecord::getAuthorId).collect(Collectors.toSet()));
+            Set<Long> themeIds = themeRepository.findExistingIds(
+                    chunk.stream().map(ArticleImportRecord::getThemeId).collect(Collectors.toSet()));
+
+            List<Article> articles = chunk.stream()
+                    .filter(record -> authorIds.contains(record.getAuthorId()) && themeIds.contains(record.getThemeId()))
+                    .map(this::toArticle)
+                    .toList();
+            articles.forEach(article -> chunkThemeIds.add(article.getTheme().getId()));
+            // Flushed at commit as JDBC batches; the persistence context is discarded with the transaction
+            articleRepository.saveAll(articles);
+            return articles.size();
+        });
+        // Only reached once committed: a rolled back chunk has nothing to fan out
+        importedThemeIds.addAll(chunkThemeIds);
+        return inserted != null ? inserted : 0;
+    }
+
+    private Article toArticle(ArticleImportRecord record) {
+        Article article = new Article(record.getTitle(), record.getContent(),
+                userRepository.getReferenceById(record.getAuthorId()),
+                themeRepository.getReferenceById(record.getThemeId()));
+        article.setCreatedAt(record.getCreatedAt());
+        article.setUpdatedAt(record.getUpdatedAt());
+        return article;
+    }
+}
@@ -5,20 +5,28 @@ import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.Date;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
 import javax.crypto.SecretKey;
 
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import com.openclassrooms.mddapi.exception.InvalidTokenException;
+import com.openclassrooms.mddapi.model.User;
+import com.openclassrooms.mddapi.security.RevocationKey;
+import com.openclassrooms.mddapi.security.VerifiedToken;
+import com.openclassrooms.mddapi.security.VerifiedTokenCache;
 import com.openclassrooms.mddapi.service.JwtService;
 
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 
@@ -36,34 +44,33 @@ public class JwtServiceImpl implements JwtService {
     @Value("${jwt.expiration}")
     private Long jwtExpirationInMs;
 
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+    @Autowired
+    private VerifiedTokenCache verifiedTokenCache;
+
+    // Built once: both are immutable and thread-safe
+    private SecretKey signingKey;
+    private JwtParser parser;
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        parser = Jwts.parser().verifyWith(signingKey).build();
     }
 
-    /**
-     * Generate JWT token for authenticated user
-     * 
-     * @param user The authenticated user
-     * @return JWT token string
-     */
-    public String generateToken(String email) {
-        return Jwts.builder()
-                .subject(email)
-                .issuedAt(Date.from(Instant.now()))
-                .expiration(Date.from(Instant.now().plusMillis(jwtExpirationInMs)))
-                .signWith(getSigningKey())
-                .compact();
+    private SecretKey getSigningKey() {
+        return signingKey;
     }
 
     /**
-     * Generate JWT token with additional claims
-     * 
-     * @param extraClaims Additional claims to include
-     * @param userDetails User details (typically email)
+     * Generate JWT token for a user, with the claims the authentication filter needs
+     * so that it never has to load the user
+     *
+     * @param user The authenticated user
      * @return JWT token string
      */
-    public String generateToken(Map<String, Object> extraClaims, UserDetails userDetails) {
-        return createToken(extraClaims, userDetails.getUsername());
+    public String generateToken(User user) {
+        return createToken(Map.of(VerifiedToken.USER_ID_CLAIM, user.getId(), VerifiedToken.USERNAME_CLAIM, user.getUsername()),
+                user.getEmail());
     }
 
     /**
@@ -82,6 +89,7 @@ public class JwtServiceImpl implements JwtService {
 
         return Jwts.builder()
                 .claims(claims)
+                .id(UUID.randomUUID().toString())
                 .subject(subject)
                 .issuedAt(now)
                 .expiration(expiryDate)
@@ -96,10 +104,7 @@ public class JwtServiceImpl implements JwtService {
      * @return Username (email)
      */
     public String extractUsername(String token) {
-        if (token == null || token.trim().isEmpty()) {
-            throw new InvalidTokenException("Token cannot be null or empty");
-        }
-        return extractClaim(token, Claims::getSubject);
+        return verify(token).getSubject();
     }
 
     /**
@@ -119,7 +124,21 @@ public class JwtServiceImpl implements JwtService {
      * @return User ID
      */
     public Long extractUserId(String token) {
-        return extractClaim(token, claims -> claims.get("userId", Long.class));
+        return verify(token).getUserId();
+    }
+
+    /**
+     * Verify the token once: signature, then expiry
+     * A token already verified is answered from the VerifiedTokenCache until it expires.
+     *
+     * @param token JWT token
+     * @return The verified token
+     */
+    public VerifiedToken verify(String token) {
+        if (token == null || token.trim().isEmpty()) {
+            throw new InvalidTokenException("Token cannot be null or empty");
+        }
+        return verifiedTokenCache.get(token, this::parse);
     }
 
     /**
@@ -129,7 +148,7 @@ public class JwtServiceImpl implements JwtService {
      * @return Expiration date
      */
     public Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+        return Date.from(verify(token).getExpiresAt());
     }
 
     /**
@@ -140,23 +159,22 @@ public class JwtServiceImpl implements JwtService {
      * @return Extracted claim
      */
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+        return claimsResolver.apply(verify(token).getClaims());
     }
 
     /**
-     * Extract all claims from JWT token
+     * Check the signature and expiry of a JWT token and read its claims
      * 
      * @param token JWT token
-     * @return All claims
+     * @return The verified token
      */
-    private Claims extractAllClaims(String token) {
+    private VerifiedToken parse(String token) {
         try {
-            return Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            if (claims.getExpiration() == null) {
+                throw new InvalidTokenException("JWT token has no expiration");
+            }
+            return new VerifiedToken(claims, RevocationKey.of(token, claims.getId()));
         } catch (JwtException e) {
             log.error("Failed to parse JWT token: {}", e.getMessage());
             throw new InvalidTokenException("Invalid JWT token", e);
@@ -194,8 +212,9 @@ public class JwtServiceImpl implements JwtService {
      */
     public Boolean validateToken(String token, UserDetails userDetails) {
         try {
-            final String username = extractUsername(token);
-            boolean isValid = (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+            VerifiedToken verified = verify(token);
+            final String username = verified.getSubject();
+            boolean isValid = (username.equals(userDetails.getUsername()) && !verified.isExpired());
 
             log.debug("JWT token validation for user {}: {}", username, isValid);
             return isValid;
@@ -214,8 +233,7 @@ public class JwtServiceImpl implements JwtService {
      */
     public Boolean validateToken(String token) {
         try {
-            extractAllClaims(token); // This will throw if token is invalid
-            boolean isValid = !isTokenExpired(token);
+            boolean isValid = !verify(token).isExpired(); // verify() throws if token is invalid
 
             log.debug("Basic JWT token validation: {}", isValid);
             return isValid;
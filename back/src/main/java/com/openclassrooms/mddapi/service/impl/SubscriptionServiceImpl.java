@@ -1,5 +1,6 @@
 package com.openclassrooms.mddapi.service.impl;
 
+import com.openclassrooms.mddapi.cache.ThemeCatalog;
 import com.openclassrooms.mddapi.model.Subscription;
 import com.openclassrooms.mddapi.model.Theme;
 import com.openclassrooms.mddapi.model.User;
@@ -7,6 +8,8 @@ import com.openclassrooms.mddapi.repository.SubscriptionRepository;
 import com.openclassrooms.mddapi.repository.ThemeRepository;
 import com.openclassrooms.mddapi.service.AuthenticationHelperService;
 import com.openclassrooms.mddapi.service.SubscriptionService;
+import com.openclassrooms.mddapi.service.SuggestionService;
+import com.openclassrooms.mddapi.service.TimelineService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.Authentication;
@@ -26,27 +29,37 @@ public class SubscriptionServiceImpl implements SubscriptionService {
     @Autowired
     private ThemeRepository themeRepository;
 
+    @Autowired
+    private ThemeCatalog themeCatalog;
+
     @Autowired
     private AuthenticationHelperService authenticationHelperService;
 
+    @Autowired
+    private TimelineService timelineService;
+
+    @Autowired
+    private SuggestionService suggestionService;
+
     @Override
     public void subscribeToTheme(Authentication authentication, Long themeId) {
         log.info("Subscribing user to theme with ID: {}", themeId);
 
         User user = authenticationHelperService.getCurrentUser(authentication);
-        Theme theme = themeRepository.findById(themeId)
-                .orElseThrow(() -> new IllegalArgumentException("Theme not found with ID: " + themeId));
+        Theme theme = themeReference(themeId);
 
         // Check if already subscribed
         if (subscriptionRepository.existsByUserAndTheme(user, theme)) {
-            log.warn("User {} is already subscribed to theme {}", user.getEmail(), themeId);
+            log.warn("User ID {} is already subscribed to theme {}", user.getId(), themeId);
             throw new IllegalStateException("User is already subscribed to this theme");
         }
 
         Subscription subscription = new Subscription(user, theme);
         subscriptionRepository.save(subscription);
+        timelineService.backfill(user.getId(), themeId);
+        suggestionService.refreshTheme(themeId);
 
-        log.info("User {} successfully subscribed to theme {}", user.getEmail(), themeId);
+        log.info("User ID {} successfully subscribed to theme {}", user.getId(), themeId);
     }
 
     @Override
@@ -54,16 +67,17 @@ public class SubscriptionServiceImpl implements SubscriptionService {
         log.info("Unsubscribing user from theme with ID: {}", themeId);
 
         User user = authenticationHelperService.getCurrentUser(authentication);
-        Theme theme = themeRepository.findById(themeId)
-                .orElseThrow(() -> new IllegalArgumentException("Theme not found with ID: " + themeId));
+        Theme theme = themeReference(themeId);
 
         if (!subscriptionRepository.existsByUserAndTheme(user, theme)) {
-            log.warn("User {} is not subscribed to theme {}", user.getEmail(), themeId);
+            log.warn("User ID {} is not subscribed to theme {}", user.getId(), themeId);
             throw new IllegalStateException("User is not subscribed to this theme");
         }
 
         subscriptionRepository.deleteByUserAndTheme(user, theme);
-        log.info("User {} successfully unsubscribed from theme {}", user.getEmail(), themeId);
+        timelineService.prune(user.getId(), themeId);
+        suggestionService.refreshTheme(themeId);
+        log.info("User ID {} successfully unsubscribed from theme {}", user.getId(), themeId);
     }
 
     @Override
@@ -74,7 +88,7 @@ public class SubscriptionServiceImpl implements SubscriptionService {
         User user = authenticationHelperService.getCurrentUser(authentication);
         List<Long> subscriptions = subscriptionRepository.findThemeIdsByUser(user);
 
-        log.info("Found {} subscriptions for user {}", subscriptions.size(), user.getEmail());
+        log.info("Found {} subscriptions for user ID {}", subscriptions.size(), user.getId());
         return subscriptions;
     }
 
@@ -82,9 +96,18 @@ public class SubscriptionServiceImpl implements SubscriptionService {
     @Transactional(readOnly = true)
     public boolean isUserSubscribedToTheme(Authentication authentication, Long themeId) {
         User user = authenticationHelperService.getCurrentUser(authentication);
-        Theme theme = themeRepository.findById(themeId)
-                .orElseThrow(() -> new IllegalArgumentException("Theme not found with ID: " + themeId));
+        Theme theme = themeReference(themeId);
 
         return subscriptionRepository.existsByUserAndTheme(user, theme);
     }
+
+    /**
+     * Theme checked against the catalog, as a reference: subscriptions only need its id
+     */
+    private Theme themeReference(Long themeId) {
+        if (!themeCatalog.exists(themeId)) {
+            throw new IllegalArgumentException("Theme not found with ID: " + themeId);
+        }
+        return themeRepository.getReferenceById(themeId);
+    }
 }
\ No newline at end of file
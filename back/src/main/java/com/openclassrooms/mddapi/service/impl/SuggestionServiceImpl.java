@@ -0,0 +1,192 @@
+package com.openclassrooms.mddapi.service.impl;
+
+import com.openclassrooms.mddapi.dto.response.SuggestionResponse;
+import com.openclassrooms.mddapi.event.ArticleEvent;
+import com.openclassrooms.mddapi.event.ArticlesImportedEvent;
+import com.openclassrooms.mddapi.repository.ArticleRepository;
+import com.openclassrooms.mddapi.repository.ThemeRepository;
+import com.openclassrooms.mddapi.repository.UserRepository;
+import com.openclassrooms.mddapi.repository.projection.SuggestionSource;
+import com.openclassrooms.mddapi.search.SuggestionTrie;
+import com.openclassrooms.mddapi.service.SuggestionService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Typeahead over article titles, theme names and usernames, one SuggestionTrie per kind
+ * Labels are updated one by one after each committed write. Popularity that moves without a write
+ * on the label itself (an author's article count) is caught up by the periodic full rebuild.
+ * Writes committed while a rebuild runs are replayed on the new tries once they are swapped in.
+ */
+@Service
+@Slf4j
+public class SuggestionServiceImpl implements SuggestionService {
+
+    private record Ref(SuggestionResponse.Type type, Long id) {
+    }
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private ThemeRepository themeRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Value("${app.suggest.max-results:10}")
+    private int maxResults;
+
+    private volatile Map<SuggestionResponse.Type, SuggestionTrie> tries;
+
+    // Guarded by this: labels written while a rebuild is reading the database
+    private final Set<Ref> pending = new LinkedHashSet<>();
+    private boolean rebuilding;
+
+    @Override
+    public List<SuggestionResponse> suggest(String prefix, SuggestionResponse.Type type, Integer limit) {
+        if (prefix == null || prefix.isBlank()) {
+            throw new IllegalArgumentException("Prefix must not be blank");
+        }
+        int resolvedLimit = limit == null || limit < 1 ? maxResults : Math.min(limit, maxResults);
+
+        Map<SuggestionResponse.Type, SuggestionTrie> current = tries;
+        if (current == null) {
+            return List.of();
+        }
+
+        List<SuggestionResponse.Type> types = type == null ? List.of(SuggestionResponse.Type.values()) : List.of(type);
+        List<Map.Entry<SuggestionResponse.Type, SuggestionTrie.Entry>> candidates = new ArrayList<>();
+        for (SuggestionResponse.Type candidateType : types) {
+            current.get(candidateType).complete(prefix, resolvedLimit)
+                    .forEach(entry -> candidates.add(Map.entry(candidateType, entry)));
+        }
+
+        return candidates.stream()
+                .sorted(Comparator.comparingLong(
+                        (Map.Entry<SuggestionResponse.Type, SuggestionTrie.Entry> candidate) -> candidate.getValue().weight())
+                        .reversed())
+                .limit(resolvedLimit)
+                .map(candidate -> new SuggestionResponse(candidate.getKey(), candidate.getValue().id(), candidate.getValue().label()))
+                .toList();
+    }
+
+    @Override
+    @EventListener({ApplicationReadyEvent.class, ArticlesImportedEvent.class})
+    @Scheduled(initialDelayString = "${app.suggest.rebuild-ms:900000}", fixedDelayString = "${app.suggest.rebuild-ms:900000}")
+    public void rebuild() {
+        synchronized (this) {
+            if (rebuilding) {
+                return;
+            }
+            rebuilding = true;
+        }
+
+        Set<Ref> queued;
+        try {
+            long start = System.currentTimeMillis();
+            Map<SuggestionResponse.Type, SuggestionTrie> built = new EnumMap<>(SuggestionResponse.Type.class);
+            built.put(SuggestionResponse.Type.ARTICLE, build(articleRepository.findSuggestionSources()));
+            built.put(SuggestionResponse.Type.THEME, build(themeRepository.findSuggestionSources()));
+            built.put(SuggestionResponse.Type.USER, build(userRepository.findSuggestionSources()));
+            tries = built;
+            log.info("Suggestion indexes built: {} articles, {} themes, {} users in {} ms",
+                    built.get(SuggestionResponse.Type.ARTICLE).size(),
+                    built.get(SuggestionResponse.Type.THEME).size(),
+                    built.get(SuggestionResponse.Type.USER).size(),
+                    System.currentTimeMillis() - start);
+        } finally {
+            synchronized (this) {
+                queued = new LinkedHashSet<>(pending);
+                pending.clear();
+                rebuilding = false;
+            }
+        }
+        queued.forEach(this::refresh);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onArticleEvent(ArticleEvent event) {
+        refreshNow(new Ref(SuggestionResponse.Type.ARTICLE, event.getArticleId()));
+    }
+
+    @Override
+    public void refreshTheme(Long themeId) {
+        afterCommit(() -> refreshNow(new Ref(SuggestionResponse.Type.THEME, themeId)));
+    }
+
+    @Override
+    public void refreshUser(Long userId) {
+        afterCommit(() -> refreshNow(new Ref(SuggestionResponse.Type.USER, userId)));
+    }
+
+    private SuggestionTrie build(List<SuggestionSource> sources) {
+        return SuggestionTrie.of(sources.stream().map(SuggestionServiceImpl::toEntry).toList(), maxResults);
+    }
+
+    private void refreshNow(Ref ref) {
+        synchronized (this) {
+            if (rebuilding) {
+                pending.add(ref);
+            }
+        }
+        refresh(ref);
+    }
+
+    /**
+     * Re-read one label and put it in, or drop it from, its trie
+     */
+    private void refresh(Ref ref) {
+        Map<SuggestionResponse.Type, SuggestionTrie> current = tries;
+        if (current == null) {
+            return;
+        }
+
+        try {
+            Optional<SuggestionSource> source = switch (ref.type()) {
+                case ARTICLE -> articleRepository.findSuggestionSourceById(ref.id());
+                case THEME -> themeRepository.findSuggestionSourceById(ref.id());
+                case USER -> userRepository.findSuggestionSourceById(ref.id());
+            };
+            SuggestionTrie trie = current.get(ref.type());
+            source.ifPresentOrElse(found -> trie.put(toEntry(found)), () -> trie.remove(ref.id()));
+        } catch (RuntimeException e) {
+            log.warn("Suggestion update failed for {} {}", ref.type(), ref.id(), e);
+        }
+    }
+
+    private static SuggestionTrie.Entry toEntry(SuggestionSource source) {
+        return new SuggestionTrie.Entry(source.getId(), source.getLabel(), source.getWeight());
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -1,18 +1,23 @@
 package com.openclassrooms.mddapi.service.impl;
 
+import com.openclassrooms.mddapi.cache.ArticleBuffer;
+import com.openclassrooms.mddapi.cache.ThemeCatalog;
+import com.openclassrooms.mddapi.cache.ThemeCatalogSnapshot;
 import com.openclassrooms.mddapi.dto.request.CreateThemeRequest;
 import com.openclassrooms.mddapi.dto.response.ThemeResponse;
 import com.openclassrooms.mddapi.exception.ThemeAlreadyExistsException;
 import com.openclassrooms.mddapi.exception.ThemeNotFoundException;
 import com.openclassrooms.mddapi.model.Theme;
 import com.openclassrooms.mddapi.repository.ThemeRepository;
+import com.openclassrooms.mddapi.service.SuggestionService;
 import com.openclassrooms.mddapi.service.ThemeService;
+import com.openclassrooms.mddapi.util.ResourceVersion;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @Slf4j
@@ -21,16 +26,28 @@ public class ThemeServiceImpl implements ThemeService {
     @Autowired
     private ThemeRepository themeRepository;
 
+    @Autowired
+    private ThemeCatalog themeCatalog;
+
+    @Autowired
+    private ArticleBuffer articleBuffer;
+
+    @Autowired
+    private SuggestionService suggestionService;
+
     @Override
     public ThemeResponse createTheme(CreateThemeRequest request) {
         log.info("Creating new theme with name: {}", request.getName());
 
-        if (themeRepository.existsByName(request.getName())) {
+        // The unique constraint on name still guards against a concurrent create
+        if (themeCatalog.current().containsName(request.getName())) {
             throw ThemeAlreadyExistsException.withName(request.getName());
         }
 
         Theme theme = new Theme(request.getName(), request.getDescription());
         Theme savedTheme = themeRepository.save(theme);
+        themeCatalog.reloadAfterCommit();
+        suggestionService.refreshTheme(savedTheme.getId());
 
         log.info("Theme created successfully with ID: {}", savedTheme.getId());
         return convertToResponse(savedTheme);
@@ -39,18 +56,30 @@ public class ThemeServiceImpl implements ThemeService {
     @Override
     public List<ThemeResponse> getAllThemes() {
         log.info("Fetching all themes");
-        return themeRepository.findAll()
-                .stream()
-                .map(this::convertToResponse)
-                .collect(Collectors.toList());
+        return themeCatalog.current().getThemes();
+    }
+
+    @Override
+    public ThemeCatalogSnapshot getCatalog() {
+        return themeCatalog.current();
     }
 
     @Override
     public ThemeResponse getThemeById(Long id) {
         log.info("Fetching theme with ID: {}", id);
-        Theme theme = themeRepository.findById(id)
+        return themeCatalog.find(id)
                 .orElseThrow(() -> new ThemeNotFoundException(id));
-        return convertToResponse(theme);
+    }
+
+    @Override
+    public ResourceVersion getAllThemesVersion() {
+        return themeCatalog.current().getListVersion();
+    }
+
+    @Override
+    public ResourceVersion getThemeVersion(Long id) {
+        LocalDateTime updatedAt = getThemeById(id).getUpdatedAt();
+        return ResourceVersion.of(updatedAt, "theme", id, updatedAt);
     }
 
     @Override
@@ -60,7 +89,7 @@ public class ThemeServiceImpl implements ThemeService {
         Theme theme = themeRepository.findById(id)
                 .orElseThrow(() -> new ThemeNotFoundException(id));
 
-        if (!theme.getName().equals(request.getName()) && themeRepository.existsByName(request.getName())) {
+        if (!theme.getName().equals(request.getName()) && themeCatalog.current().containsName(request.getName())) {
             throw ThemeAlreadyExistsException.withName(request.getName());
         }
 
@@ -68,6 +97,9 @@ public class ThemeServiceImpl implements ThemeService {
         theme.setDescription(request.getDescription());
 
         Theme updatedTheme = themeRepository.save(theme);
+        themeCatalog.reloadAfterCommit();
+        articleBuffer.evictTheme(id);
+        suggestionService.refreshTheme(id);
         log.info("Theme updated successfully with ID: {}", updatedTheme.getId());
         return convertToResponse(updatedTheme);
     }
@@ -76,17 +108,20 @@ public class ThemeServiceImpl implements ThemeService {
     public void deleteTheme(Long id) {
         log.info("Deleting theme with ID: {}", id);
 
-        if (!themeRepository.existsById(id)) {
+        if (!themeCatalog.exists(id)) {
             throw new ThemeNotFoundException(id);
         }
 
         themeRepository.deleteById(id);
+        themeCatalog.reloadAfterCommit();
+        articleBuffer.evictTheme(id);
+        suggestionService.refreshTheme(id);
         log.info("Theme deleted successfully with ID: {}", id);
     }
 
     @Override
     public boolean existsByName(String name) {
-        return themeRepository.existsByName(name);
+        return themeCatalog.current().containsName(name);
     }
 
     private ThemeResponse convertToResponse(Theme theme) {
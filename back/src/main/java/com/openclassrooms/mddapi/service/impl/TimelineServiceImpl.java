@@ -0,0 +1,206 @@
+package com.openclassrooms.mddapi.service.impl;
+
+import com.openclassrooms.mddapi.event.ArticleEvent;
+import com.openclassrooms.mddapi.event.ArticlesImportedEvent;
+import com.openclassrooms.mddapi.repository.SubscriptionRepository;
+import com.openclassrooms.mddapi.repository.TimelineRepository;
+import com.openclassrooms.mddapi.service.TimelineService;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Fan-out-on-write for the subscribed-theme feed
+ * New articles are pushed to every subscriber's timeline asynchronously after the article commits,
+ * so publishing stays as fast as a single insert. Themes above the subscriber threshold are skipped
+ * and merged at read time by FeedServiceImpl instead of writing one row per subscriber.
+ */
+@Service
+@Slf4j
+public class TimelineServiceImpl implements TimelineService {
+
+    @Autowired
+    private TimelineRepository timelineRepository;
+
+    @Autowired
+    private SubscriptionRepository subscriptionRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.feed.fanout.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.feed.fanout.max-subscribers:5000}")
+    private long maxSubscribers;
+
+    @Value("${app.feed.fanout.backfill-size:500}")
+    private int backfillSize;
+
+    // Immutable snapshot, replaced as a whole by refreshHotThemes
+    private volatile Set<Long> hotThemeIds = Set.of();
+
+    // Work done after the caller's commit cannot join its transaction, which is already over
+    private TransactionTemplate requiresNew;
+
+    @PostConstruct
+    void init() {
+        requiresNew = new TransactionTemplate(transactionManager);
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public Set<Long> getHotThemeIds() {
+        return hotThemeIds;
+    }
+
+    @Async
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true,
+                                condition = "#event.affectsTimelines()")
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onArticleEvent(ArticleEvent event) {
+        // Deleted articles leave the timelines through the ON DELETE CASCADE foreign key
+        if (!enabled) {
+            return;
+        }
+        if (event.getType() == ArticleEvent.Type.UPDATED) {
+            timelineRepository.removeArticle(event.getArticleId());
+        }
+        if (hotThemeIds.contains(event.getThemeId())) {
+            log.debug("Theme {} is over the fan-out threshold, article {} is merged at read time",
+                    event.getThemeId(), event.getArticleId());
+            return;
+        }
+
+        int rows = timelineRepository.fanOut(event.getArticleId());
+        log.debug("Fanned out article {} to {} timelines", event.getArticleId(), rows);
+    }
+
+    /**
+     * Copy the latest articles of each imported theme into its subscribers' timelines
+     * Published after the import committed, outside any transaction; one set-based statement per theme
+     */
+    @EventListener(ArticlesImportedEvent.class)
+    @Transactional
+    public void onArticlesImported(ArticlesImportedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        for (Long themeId : event.getThemeIds()) {
+            if (hotThemeIds.contains(themeId)) {
+                continue;
+            }
+            int rows = timelineRepository.backfillTheme(themeId, backfillSize);
+            log.info("Backfilled {} timeline rows for theme {} after an import", rows, themeId);
+        }
+    }
+
+    /**
+     * Runs once the subscription has committed: an article committed after the backfill's snapshot
+     * is then fanned out with the subscription visible
+     */
+    @Override
+    public void backfill(Long userId, Long themeId) {
+        if (!enabled) {
+            return;
+        }
+        afterCommit(() -> {
+            if (hotThemeIds.contains(themeId)) {
+                return;
+            }
+            Integer rows = requiresNew.execute(status -> timelineRepository.backfill(userId, themeId, backfillSize));
+            log.debug("Backfilled {} articles of theme {} into timeline of user {}", rows, themeId, userId);
+        });
+    }
+
+    /**
+     * Runs once the unsubscription has committed; fan-outs still holding the subscription row
+     * (fanOut takes it FOR KEY SHARE) have committed by then, so their rows are pruned too
+     */
+    @Override
+    public void prune(Long userId, Long themeId) {
+        if (!enabled) {
+            return;
+        }
+        afterCommit(() -> {
+            Integer rows = requiresNew.execute(status -> timelineRepository.prune(userId, themeId));
+            log.debug("Pruned {} articles of theme {} from timeline of user {}", rows, themeId, userId);
+        });
+    }
+
+    @Override
+    @Transactional
+    @Scheduled(initialDelayString = "${app.feed.fanout.hot-themes-refresh-ms:60000}",
+               fixedDelayString = "${app.feed.fanout.hot-themes-refresh-ms:60000}")
+    public void refreshHotThemes() {
+        if (!enabled) {
+            return;
+        }
+        Set<Long> refreshed = Set.copyOf(subscriptionRepository.findThemeIdsWithMoreSubscribersThan(maxSubscribers));
+
+        // Articles published while a theme was hot were never fanned out
+        Set<Long> cooled = new HashSet<>(hotThemeIds);
+        cooled.removeAll(refreshed);
+        for (Long themeId : cooled) {
+            int rows = timelineRepository.backfillTheme(themeId, backfillSize);
+            log.info("Theme {} dropped under the fan-out threshold, backfilled {} timeline rows", themeId, rows);
+        }
+
+        if (!refreshed.equals(hotThemeIds)) {
+            log.info("Hot themes merged at read time: {}", refreshed);
+        }
+        hotThemeIds = refreshed;
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Build the timelines from the existing subscriptions the first time the table is used
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void bootstrap() {
+        if (!enabled) {
+            return;
+        }
+        refreshHotThemes();
+        if (!timelineRepository.existsAny()) {
+            int rows = timelineRepository.backfillAll(backfillSize);
+            log.info("Bootstrapped user timelines with {} rows", rows);
+        }
+    }
+}
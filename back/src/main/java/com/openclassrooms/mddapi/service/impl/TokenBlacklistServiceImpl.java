@@ -1,40 +1,101 @@
 package com.openclassrooms.mddapi.service.impl;
 
-import java.util.Date;
+import java.time.Instant;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import com.openclassrooms.mddapi.repository.RevokedTokenRepository;
+import com.openclassrooms.mddapi.security.RevocationKey;
+import com.openclassrooms.mddapi.security.RevocationNotice;
+import com.openclassrooms.mddapi.security.VerifiedToken;
 import com.openclassrooms.mddapi.service.TokenBlacklistService;
+import com.openclassrooms.mddapi.util.BloomFilter;
 
+import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
 
+/**
+ * Revoked tokens, as 128-bit keys grouped in buckets by expiry time
+ * A revoked token expires at a known time, so it is filed in the bucket of that time slice; once the slice
+ * has passed, the whole bucket is dropped without looking at its keys. A lookup goes straight to the
+ * bucket of the token's expiry. A Bloom filter answers the common "not revoked" case first, from the bits
+ * of the key alone, and is rebuilt from the remaining keys after buckets are dropped.
+ * When shared, a logout also stores the revocation in revoked_tokens and notifies the other instances,
+ * which apply it through TokenRevocationListener; lookups never leave memory.
+ */
 @Slf4j
 @Service
 public class TokenBlacklistServiceImpl implements TokenBlacklistService {
     
-    // Map: token -> expiration date
-    private final ConcurrentHashMap<String, Date> blacklistedTokens = new ConcurrentHashMap<>();
+    // Bucket number (expiry / bucket width, rounded up) -> keys of the tokens expiring in that slice
+    private final ConcurrentSkipListMap<Long, Set<RevocationKey>> buckets = new ConcurrentSkipListMap<>();
+    private final AtomicLong size = new AtomicLong();
+
+    // Replaced under the lock by rebuilds; revocations also add to it under the lock
+    private volatile BloomFilter bloomFilter;
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @Value("${jwt.blacklist.shared:true}")
+    private boolean shared;
+
+    @Value("${jwt.blacklist.bucket-ms:60000}")
+    private long bucketMs;
+
+    @Value("${jwt.blacklist.expected-revocations:100000}")
+    private long expectedRevocations;
+
+    @Value("${jwt.blacklist.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    @PostConstruct
+    void init() {
+        bloomFilter = BloomFilter.sized(expectedRevocations, falsePositiveRate);
+    }
     
     @Override
-    public void blacklistToken(String token, Date expiration) {
-        if (token == null || token.trim().isEmpty()) {
-            log.warn("Attempted to blacklist null or empty token");
+    public void blacklistToken(VerifiedToken token) {
+        if (token.isExpired()) {
+            log.debug("Token already expired, nothing to blacklist");
             return;
         }
-        
-        blacklistedTokens.put(token, expiration);
-        log.debug("Token blacklisted successfully. Total blacklisted tokens: {}", blacklistedTokens.size());
+
+        RevocationKey key = token.getRevocationKey();
+        if (shared) {
+            // Stored before the local add: a logout that fails here fails, instead of holding on one instance only
+            RevocationNotice notice = new RevocationNotice(key, token.getExpiresAt());
+            revokedTokenRepository.revokeAndNotify(key.high(), key.low(), token.getExpiresAt(),
+                    RevocationNotice.CHANNEL, notice.toPayload());
+        }
+        add(key, token.getExpiresAt());
+        log.debug("Token blacklisted successfully. Total blacklisted tokens: {}", size.get());
+    }
+
+    @Override
+    public void applyRevocation(RevocationKey key, Instant expiresAt) {
+        if (!expiresAt.isAfter(Instant.now())) {
+            return;
+        }
+        add(key, expiresAt);
     }
     
     @Override
-    public boolean isTokenBlacklisted(String token) {
-        if (token == null || token.trim().isEmpty()) {
+    public boolean isTokenBlacklisted(VerifiedToken token) {
+        RevocationKey key = token.getRevocationKey();
+        if (!bloomFilter.mightContain(key.high(), key.low())) {
             return false;
         }
-        
-        boolean isBlacklisted = blacklistedTokens.containsKey(token);
+
+        Set<RevocationKey> bucket = buckets.get(bucketOf(token.getExpiresAt()));
+        boolean isBlacklisted = bucket != null && bucket.contains(key);
         
         if (isBlacklisted) {
             log.debug("Token found in blacklist");
@@ -43,37 +104,74 @@ public class TokenBlacklistServiceImpl implements TokenBlacklistService {
         return isBlacklisted;
     }
     
+    /**
+     * Drop the buckets whose time slice has fully passed, then rebuild the Bloom filter without their keys
+     */
     @Override
-    public void cleanupExpiredTokens() {
-        Date now = new Date();
-        int initialSize = blacklistedTokens.size();
-        
-        // Remove expired tokens
-        blacklistedTokens.entrySet().removeIf(entry -> {
-            Date expiration = entry.getValue();
-            return expiration != null && expiration.before(now);
-        });
-        
-        int removedCount = initialSize - blacklistedTokens.size();
+    public synchronized void cleanupExpiredTokens() {
+        long current = Math.floorDiv(System.currentTimeMillis(), bucketMs);
+        var expired = buckets.headMap(current, true);
+        if (expired.isEmpty()) {
+            return;
+        }
+
+        long removedCount = 0;
+        for (Set<RevocationKey> bucket : expired.values()) {
+            removedCount += bucket.size();
+        }
+        expired.clear();
+        size.addAndGet(-removedCount);
+
+        long remaining = size.get();
+        BloomFilter rebuilt = BloomFilter.sized(Math.max(expectedRevocations, remaining * 2), falsePositiveRate);
+        for (Set<RevocationKey> bucket : buckets.values()) {
+            for (RevocationKey key : bucket) {
+                rebuilt.put(key.high(), key.low());
+            }
+        }
+        bloomFilter = rebuilt;
         
         if (removedCount > 0) {
-            log.info("Cleaned up {} expired tokens from blacklist. Remaining: {}", 
-                    removedCount, blacklistedTokens.size());
+            log.info("Cleaned up {} expired tokens from blacklist. Remaining: {}", removedCount, remaining);
         }
     }
     
     @Override
     public long getBlacklistedTokenCount() {
-        return blacklistedTokens.size();
+        return size.get();
     }
     
     /**
      * Scheduled cleanup of expired tokens
-     * Runs every hour to clean up expired tokens
+     * Runs once per bucket width, dropping at most a few buckets each time
      */
-    @Scheduled(fixedRate = 3600000) // 1 hour = 3600000ms
+    @Scheduled(fixedRateString = "${jwt.blacklist.bucket-ms:60000}")
     public void scheduledCleanup() {
         log.debug("Starting scheduled cleanup of expired blacklisted tokens");
         cleanupExpiredTokens();
+
+        if (shared) {
+            // Every instance runs it; the delete is idempotent and walks idx_revoked_tokens_expires_at
+            try {
+                int deleted = revokedTokenRepository.deleteExpired(Instant.now());
+                if (deleted > 0) {
+                    log.debug("Deleted {} expired revocations from revoked_tokens", deleted);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Could not delete expired revocations: {}", e.getMessage());
+            }
+        }
+    }
+
+    private synchronized void add(RevocationKey key, Instant expiresAt) {
+        if (buckets.computeIfAbsent(bucketOf(expiresAt), bucket -> ConcurrentHashMap.newKeySet()).add(key)) {
+            size.incrementAndGet();
+        }
+        bloomFilter.put(key.high(), key.low());
+    }
+
+    // Rounded up: a bucket is only dropped once every token in it has expired
+    private long bucketOf(Instant expiresAt) {
+        return Math.floorDiv(expiresAt.toEpochMilli() + bucketMs - 1, bucketMs);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,57 @@
+package com.openclassrooms.mddapi.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size Bloom filter over 128-bit keys that are already uniformly distributed (random ids, digests)
+ * The two halves of a key seed the double hashing of the probe positions, so no hash function runs.
+ * Never answers false for a key that was put; thread-safe, lock-free.
+ */
+public final class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int probes;
+
+    private BloomFilter(long bitCount, int probes) {
+        this.words = new AtomicLongArray((int) ((bitCount + 63) >>> 6));
+        this.bitCount = (long) words.length() << 6;
+        this.probes = probes;
+    }
+
+    /**
+     * Filter sized to hold expectedInsertions keys at the given false-positive probability
+     */
+    public static BloomFilter sized(long expectedInsertions, double falsePositiveProbability) {
+        long n = Math.max(1, expectedInsertions);
+        long bits = (long) Math.ceil(-n * Math.log(falsePositiveProbability) / (Math.log(2) * Math.log(2)));
+        int probes = Math.max(1, (int) Math.round((double) bits / n * Math.log(2)));
+        return new BloomFilter(Math.max(64, bits), probes);
+    }
+
+    public void put(long high, long low) {
+        long combined = high;
+        for (int i = 0; i < probes; i++) {
+            long bit = Math.floorMod(combined, bitCount);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current = words.get(word);
+            while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask)) {
+                current = words.get(word);
+            }
+            combined += low;
+        }
+    }
+
+    public boolean mightContain(long high, long low) {
+        long combined = high;
+        for (int i = 0; i < probes; i++) {
+            long bit = Math.floorMod(combined, bitCount);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+            combined += low;
+        }
+        return true;
+    }
+}
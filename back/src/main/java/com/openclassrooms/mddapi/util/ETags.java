@@ -0,0 +1,36 @@
+package com.openclassrooms.mddapi.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Builds strong entity tags from the values a response depends on
+ */
+public final class ETags {
+
+    private ETags() {
+    }
+
+    /**
+     * Hash the given parts into a quoted strong ETag
+     *
+     * @param parts Values identifying one representation (ids, timestamps, cursor...)
+     * @return Quoted ETag value
+     */
+    public static String of(Object... parts) {
+        StringBuilder source = new StringBuilder();
+        for (Object part : parts) {
+            source.append(part).append('|');
+        }
+
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(source.toString().getBytes(StandardCharsets.UTF_8));
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.openclassrooms.mddapi.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes a stream as a JSON array one element at a time
+ * Only the element being serialized is held in memory; the output is flushed every flushEvery elements
+ * so the client starts receiving data before the last row is read.
+ */
+public final class JsonArrayWriter {
+
+    private JsonArrayWriter() {
+    }
+
+    /**
+     * @return Number of elements written
+     */
+    public static long write(ObjectMapper objectMapper, Stream<?> items, OutputStream out, int flushEvery) throws IOException {
+        long count = 0;
+        try (JsonGenerator generator = objectMapper.createGenerator(out)) {
+            // The servlet container owns the response stream
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartArray();
+            Iterator<?> iterator = items.iterator();
+            while (iterator.hasNext()) {
+                generator.writeObject(iterator.next());
+                if (++count % flushEvery == 0) {
+                    generator.flush();
+                }
+            }
+            generator.writeEndArray();
+        }
+        return count;
+    }
+}
@@ -0,0 +1,41 @@
+package com.openclassrooms.mddapi.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes a stream as newline-delimited JSON, one object per line
+ * Every line stands alone, so a consumer can process (or resume) the output without parsing it as a whole.
+ */
+public final class NdjsonWriter {
+
+    private static final byte NEWLINE = '\n';
+
+    private NdjsonWriter() {
+    }
+
+    /**
+     * @return Number of lines written
+     */
+    public static long write(ObjectMapper objectMapper, Stream<?> items, OutputStream out, int flushEvery) throws IOException {
+        // A single-line writer: the mapper's indentation settings must not split records
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.INDENT_OUTPUT);
+        long count = 0;
+        Iterator<?> iterator = items.iterator();
+        while (iterator.hasNext()) {
+            out.write(writer.writeValueAsBytes(iterator.next()));
+            out.write(NEWLINE);
+            if (++count % flushEvery == 0) {
+                out.flush();
+            }
+        }
+        out.flush();
+        return count;
+    }
+}
@@ -0,0 +1,57 @@
+package com.openclassrooms.mddapi.util;
+
+import lombok.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Validators of a representation, computed from narrow version queries before the representation is loaded
+ * Controllers answer 304 from it without hydrating entities or serializing a body
+ */
+@Value
+public class ResourceVersion {
+
+    String etag;
+
+    // Null when the representation has no meaningful modification date
+    LocalDateTime lastModified;
+
+    /**
+     * @param lastModified Latest change among the rows the representation shows, may be null
+     * @param parts        Values identifying the representation, hashed into a strong ETag
+     */
+    public static ResourceVersion of(LocalDateTime lastModified, Object... parts) {
+        return new ResourceVersion(ETags.of(parts), lastModified);
+    }
+
+    /**
+     * Whether the request's If-None-Match (or, without it, If-Modified-Since) matches this version
+     */
+    public boolean isNotModified(WebRequest request) {
+        return request.checkNotModified(etag, lastModifiedMillis());
+    }
+
+    public <T> ResponseEntity<T> notModified() {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+    }
+
+    /**
+     * 200 builder carrying the validators and the endpoint's cache policy
+     */
+    public ResponseEntity.BodyBuilder ok(CacheControl cacheControl) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok().eTag(etag).cacheControl(cacheControl);
+        if (lastModified != null) {
+            builder.lastModified(lastModifiedMillis());
+        }
+        return builder;
+    }
+
+    private long lastModifiedMillis() {
+        return lastModified == null ? -1 : lastModified.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,24 @@
+-- Schema objects Hibernate cannot express, applied after ddl-auto on every startup (statements are idempotent)
+
+-- Full-text search: weighted title (A) and content (B), kept in sync by PostgreSQL itself
+ALTER TABLE articles ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('french', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('french', coalesce(content, '')), 'B')
+    ) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_articles_search_vector ON articles USING GIN (search_vector);
+
+-- Fuzzy search (SearchMode.FUZZY): trigram indexes answering the word_similarity operator <%
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_articles_title_trgm ON articles USING GIN (title gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_articles_content_trgm ON articles USING GIN (content gin_trgm_ops);
+
+-- Pooled id allocation: Hibernate reserves blocks of 50 ids per sequence call (pooled-lo) so inserts can be batched.
+-- Must match allocationSize on the entities; plain DEFAULT nextval inserts still get ids outside any reserved block
+ALTER SEQUENCE users_id_seq INCREMENT BY 50;
+ALTER SEQUENCE themes_id_seq INCREMENT BY 50;
+ALTER SEQUENCE articles_id_seq INCREMENT BY 50;
+ALTER SEQUENCE comments_id_seq INCREMENT BY 50;
+ALTER SEQUENCE subscriptions_id_seq INCREMENT BY 50;
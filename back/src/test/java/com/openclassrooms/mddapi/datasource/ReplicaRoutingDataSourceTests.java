@@ -0,0 +1,137 @@
+package com.openclassrooms.mddapi.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Routing between two (or three) in-memory H2 databases, each answering with its own name
+ * Runs without Postgres or a Spring context: the lag query is replaced by a constant.
+ */
+class ReplicaRoutingDataSourceTests {
+
+    private static final String CAUGHT_UP = "SELECT 0";
+
+    private static final String TEN_SECONDS_BEHIND = "SELECT 10";
+
+    private static final String NOT_REPLICATING = "SELECT CAST(NULL AS DOUBLE PRECISION)";
+
+    private final DataSource primary = database("primary");
+
+    @Test
+    void readOnlyTransactionsGoToTheReplica() {
+        ReplicaRoutingDataSource router = router(CAUGHT_UP, replica("replica"));
+        router.checkLag();
+
+        assertThat(nodeIn(router, true)).isEqualTo("replica");
+    }
+
+    @Test
+    void writesAndNonTransactionalCallsGoToThePrimary() {
+        ReplicaRoutingDataSource router = router(CAUGHT_UP, replica("replica"));
+        router.checkLag();
+
+        assertThat(nodeIn(router, false)).isEqualTo("primary");
+        assertThat(new JdbcTemplate(proxy(router)).queryForObject("SELECT name FROM node", String.class))
+                .isEqualTo("primary");
+    }
+
+    @Test
+    void replicasTakeTurns() {
+        ReplicaRoutingDataSource router = router(CAUGHT_UP, replica("replica-a"), replica("replica-b"));
+        router.checkLag();
+
+        Set<String> nodes = new HashSet<>();
+        for (int i = 0; i < 4; i++) {
+            nodes.add(nodeIn(router, true));
+        }
+
+        assertThat(nodes).containsExactlyInAnyOrder("replica-a", "replica-b");
+    }
+
+    @Test
+    void laggingReplicaFallsBackToThePrimary() {
+        ReplicaRoutingDataSource router = router(TEN_SECONDS_BEHIND, replica("replica"));
+        router.checkLag();
+
+        assertThat(router.getReplicas().get(0).getLagMs()).isEqualTo(10000);
+        assertThat(router.getReplicas().get(0).isHealthy()).isFalse();
+        assertThat(nodeIn(router, true)).isEqualTo("primary");
+    }
+
+    @Test
+    void replicaThatStoppedReplicatingFallsBackToThePrimary() {
+        ReplicaRoutingDataSource router = router(NOT_REPLICATING, replica("replica"));
+        router.checkLag();
+
+        assertThat(router.getReplicas().get(0).getLagMs()).isEqualTo(-1);
+        assertThat(router.getReplicas().get(0).isHealthy()).isFalse();
+        assertThat(nodeIn(router, true)).isEqualTo("primary");
+    }
+
+    @Test
+    void unreachableReplicaFallsBackToThePrimary() {
+        DataSource missing = new DriverManagerDataSource("jdbc:h2:mem:missing-" + UUID.randomUUID() + ";IFEXISTS=TRUE", "sa", "");
+        ReplicaRoutingDataSource router = router(CAUGHT_UP, new ReplicaRoutingDataSource.Replica("missing", missing));
+        router.checkLag();
+
+        assertThat(router.getReplicas().get(0).isHealthy()).isFalse();
+        assertThat(nodeIn(router, true)).isEqualTo("primary");
+    }
+
+    @Test
+    void replicasStayOutOfRotationUntilFirstChecked() {
+        ReplicaRoutingDataSource router = router(CAUGHT_UP, replica("replica"));
+
+        assertThat(nodeIn(router, true)).isEqualTo("primary");
+    }
+
+    private ReplicaRoutingDataSource router(String lagQuery, ReplicaRoutingDataSource.Replica... replicas) {
+        return new ReplicaRoutingDataSource(primary, List.of(replicas), 2000, lagQuery);
+    }
+
+    private ReplicaRoutingDataSource.Replica replica(String name) {
+        return new ReplicaRoutingDataSource.Replica(name, database(name));
+    }
+
+    /**
+     * Name of the database a transaction ran its statement on, the way the application is wired
+     */
+    private String nodeIn(ReplicaRoutingDataSource router, boolean readOnly) {
+        DataSource dataSource = proxy(router);
+        TransactionTemplate transaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        transaction.setReadOnly(readOnly);
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        return transaction.execute(status -> jdbc.queryForObject("SELECT name FROM node", String.class));
+    }
+
+    private static DataSource proxy(ReplicaRoutingDataSource router) {
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy();
+        proxy.setTargetDataSource(router);
+        proxy.setDefaultAutoCommit(true);
+        proxy.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        return proxy;
+    }
+
+    private static DataSource database(String name) {
+        DataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("CREATE TABLE node (name VARCHAR(32))");
+        jdbc.update("INSERT INTO node (name) VALUES (?)", name);
+        return dataSource;
+    }
+}
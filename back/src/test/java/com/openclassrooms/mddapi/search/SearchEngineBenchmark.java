@@ -0,0 +1,217 @@
+package com.openclassrooms.mddapi.search;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import com.openclassrooms.mddapi.dto.response.ArticleSummaryResponse;
+import com.openclassrooms.mddapi.repository.ArticleSearchRepository;
+
+/**
+ * Ranked search: in-process BM25 index (app.search.engine=memory) against the PostgreSQL full-text query
+ * Both sides search the same synthetic corpus, written to a throwaway bench_search schema of the database
+ * given by SPRING_DATASOURCE_URL / _USERNAME / _PASSWORD (the application's defaults otherwise).
+ * The memory side also pays the round trip that loads the summaries of its page, as InMemorySearchEngine does;
+ * the SQL side runs ArticleSearchRepository.search as declared, headlines included.
+ *
+ * ./mvnw -Pbenchmark test-compile exec:exec -Djmh.args="SearchEngineBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchEngineBenchmark {
+
+    private static final String SCHEMA = "bench_search";
+
+    private static final String SUMMARIES_BY_ID =
+            "SELECT a.id, a.title, substring(a.content, 1, :prefixLength) AS content_prefix, u.username, " +
+            "       t.id AS theme_id, t.name, t.description, t.created_at AS theme_created_at, t.updated_at AS theme_updated_at, " +
+            "       a.comments_count, a.created_at, a.updated_at " +
+            "FROM articles a JOIN users u ON u.id = a.user_id JOIN themes t ON t.id = a.theme_id " +
+            "WHERE a.id IN (:ids)";
+
+    // Present in a known share of the articles, so that queries match a realistic number of documents
+    private static final String[] TOPICS = {"java", "spring", "docker", "angular", "postgresql", "kubernetes", "securite"};
+
+    @Param({"20000"})
+    private int articles;
+
+    @Param({"java", "java spring", "docker -angular", "postgresql securite"})
+    private String query;
+
+    @Param({"20"})
+    private int limit;
+
+    private Connection connection;
+    private NamedParameterJdbcTemplate jdbc;
+    private String searchSql;
+    private InvertedIndex index;
+    private Set<String> required;
+    private Set<String> excluded;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        connection = DriverManager.getConnection(
+                env("SPRING_DATASOURCE_URL", "jdbc:postgresql://localhost:5432/mdd_db"),
+                env("SPRING_DATASOURCE_USERNAME", "mdd_user"),
+                env("SPRING_DATASOURCE_PASSWORD", ""));
+        JdbcTemplate schema = new JdbcTemplate(new SingleConnectionDataSource(connection, true));
+        createCorpus(schema);
+        jdbc = new NamedParameterJdbcTemplate(schema);
+
+        searchSql = ArticleSearchRepository.class
+                .getMethod("search", String.class, int.class, int.class, int.class)
+                .getAnnotation(Query.class)
+                .value();
+
+        index = new InvertedIndex();
+        schema.query("SELECT id, title, content FROM articles", rs -> {
+            index.add(InvertedIndex.Document.of(rs.getLong(1), rs.getString(2), rs.getString(3)));
+        });
+
+        // Parsed as InMemorySearchEngine.search does
+        required = new LinkedHashSet<>();
+        excluded = new LinkedHashSet<>();
+        for (String word : query.split("\\s+")) {
+            if (word.startsWith("-")) {
+                excluded.addAll(Tokenizer.tokenize(word.substring(1)));
+            } else {
+                required.addAll(Tokenizer.tokenize(word));
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (var statement = connection.createStatement()) {
+            statement.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+        } finally {
+            connection.close();
+        }
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> memory() {
+        List<Long> ids = new ArrayList<>(limit);
+        for (InvertedIndex.Hit hit : index.search(required, excluded, limit)) {
+            ids.add(hit.articleId());
+        }
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return jdbc.queryForList(SUMMARIES_BY_ID,
+                Map.of("prefixLength", ArticleSummaryResponse.EXCERPT_FETCH_LENGTH, "ids", ids));
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> postgres() {
+        return jdbc.queryForList(searchSql, Map.of(
+                "query", query,
+                "prefixLength", ArticleSummaryResponse.EXCERPT_FETCH_LENGTH,
+                "limit", limit,
+                "offset", 0));
+    }
+
+    /**
+     * Same columns, generated search vector and GIN index as the application schema, filled with seeded random text
+     */
+    private void createCorpus(JdbcTemplate schema) {
+        schema.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+        schema.execute("CREATE SCHEMA " + SCHEMA);
+        schema.execute("SET search_path TO " + SCHEMA);
+        schema.execute("CREATE TABLE users (id BIGINT PRIMARY KEY, username VARCHAR(50) NOT NULL)");
+        schema.execute("CREATE TABLE themes (id BIGINT PRIMARY KEY, name VARCHAR(255) NOT NULL, description TEXT, " +
+                "created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP)");
+        schema.execute("CREATE TABLE articles (id BIGINT PRIMARY KEY, title VARCHAR(200) NOT NULL, content TEXT NOT NULL, " +
+                "user_id BIGINT NOT NULL REFERENCES users(id), theme_id BIGINT NOT NULL REFERENCES themes(id), " +
+                "comments_count INTEGER NOT NULL DEFAULT 0, " +
+                "created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " +
+                "search_vector tsvector GENERATED ALWAYS AS (" +
+                "    setweight(to_tsvector('french', coalesce(title, '')), 'A') || " +
+                "    setweight(to_tsvector('french', coalesce(content, '')), 'B')) STORED)");
+
+        schema.update("INSERT INTO users (id, username) SELECT i, 'author_' || i FROM generate_series(1, 100) i");
+        schema.update("INSERT INTO themes (id, name, description) SELECT i, 'Theme ' || i, 'Description ' || i FROM generate_series(1, 10) i");
+
+        Random random = new Random(42);
+        String[] vocabulary = vocabulary(random, 5000);
+        List<Object[]> batch = new ArrayList<>(1000);
+        for (int id = 1; id <= articles; id++) {
+            batch.add(new Object[]{id, text(random, vocabulary, 6), text(random, vocabulary, 150),
+                    1 + random.nextInt(100), 1 + random.nextInt(10)});
+            if (batch.size() == 1000 || id == articles) {
+                schema.batchUpdate("INSERT INTO articles (id, title, content, user_id, theme_id) VALUES (?, ?, ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+
+        schema.execute("CREATE INDEX idx_articles_search_vector ON articles USING GIN (search_vector)");
+        schema.execute("ANALYZE articles");
+    }
+
+    private static String[] vocabulary(Random random, int size) {
+        String[] syllables = {"ka", "lo", "mi", "ne", "ru", "ta", "vo", "pi", "se", "du", "ga", "fe", "zo", "bri", "tan", "mor"};
+        String[] words = new String[size];
+        for (int i = 0; i < size; i++) {
+            StringBuilder word = new StringBuilder();
+            int length = 2 + random.nextInt(3);
+            for (int s = 0; s < length; s++) {
+                word.append(syllables[random.nextInt(syllables.length)]);
+            }
+            words[i] = word.toString();
+        }
+        return words;
+    }
+
+    /**
+     * Words drawn with a skew towards the start of the vocabulary, and a topic word now and then
+     */
+    private static String text(Random random, String[] vocabulary, int words) {
+        StringBuilder text = new StringBuilder(words * 8);
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            if (random.nextInt(100) == 0) {
+                text.append(TOPICS[random.nextInt(TOPICS.length)]);
+            } else {
+                double skew = random.nextDouble();
+                text.append(vocabulary[(int) (skew * skew * skew * vocabulary.length)]);
+            }
+        }
+        return text.toString();
+    }
+
+    private static String env(String name, String fallback) {
+        String value = System.getenv(name);
+        return value == null || value.isBlank() ? fallback : value;
+    }
+}
@@ -0,0 +1,90 @@
+package com.openclassrooms.mddapi.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.openclassrooms.mddapi.search.SuggestionTrie.Entry;
+
+/**
+ * Prefix completion over a handful of labels, built at once and then edited
+ */
+class SuggestionTrieTests {
+
+    private static final Entry SPRING_BOOT = new Entry(1, "Spring Boot", 30);
+    private static final Entry SPRING_SECURITY = new Entry(2, "Spring Security", 50);
+    private static final Entry SECURITE_WEB = new Entry(3, "Sécurité web", 10);
+    private static final Entry DOCKER = new Entry(4, "Docker", 20);
+
+    private final SuggestionTrie trie = SuggestionTrie.of(List.of(SPRING_BOOT, SPRING_SECURITY, SECURITE_WEB, DOCKER), 5);
+
+    @Test
+    void completesAnyPrefixHeaviestFirst() {
+        assertThat(trie.complete("spr", 10)).containsExactly(SPRING_SECURITY, SPRING_BOOT);
+        assertThat(trie.complete("Spring B", 10)).containsExactly(SPRING_BOOT);
+        assertThat(trie.complete("dock", 10)).containsExactly(DOCKER);
+        assertThat(trie.complete("kotlin", 10)).isEmpty();
+        assertThat(trie.complete("  ", 10)).isEmpty();
+    }
+
+    @Test
+    void completesFromLaterWordsAndIgnoresAccents() {
+        assertThat(trie.complete("secu", 10)).containsExactly(SPRING_SECURITY, SECURITE_WEB);
+        assertThat(trie.complete("sécurité w", 10)).containsExactly(SECURITE_WEB);
+    }
+
+    @Test
+    void trailingSpaceRequiresAnotherWord() {
+        assertThat(trie.complete("docker ", 10)).isEmpty();
+        assertThat(trie.complete("spring ", 10)).containsExactly(SPRING_SECURITY, SPRING_BOOT);
+    }
+
+    @Test
+    void limitKeepsTheHeaviest() {
+        assertThat(trie.complete("s", 2)).containsExactly(SPRING_SECURITY, SPRING_BOOT);
+    }
+
+    @Test
+    void putAddsAndReweighs() {
+        Entry springData = new Entry(5, "Spring Data", 40);
+        trie.put(springData);
+        assertThat(trie.complete("spring", 10)).containsExactly(SPRING_SECURITY, springData, SPRING_BOOT);
+
+        Entry popularBoot = new Entry(1, "Spring Boot", 100);
+        trie.put(popularBoot);
+        assertThat(trie.complete("spring", 10)).containsExactly(popularBoot, SPRING_SECURITY, springData);
+        assertThat(trie.size()).isEqualTo(5);
+    }
+
+    @Test
+    void putWithANewLabelForgetsTheOldOne() {
+        Entry kubernetes = new Entry(4, "Kubernetes", 20);
+        trie.put(kubernetes);
+
+        assertThat(trie.complete("dock", 10)).isEmpty();
+        assertThat(trie.complete("kube", 10)).containsExactly(kubernetes);
+    }
+
+    @Test
+    void removeForgetsTheEntry() {
+        trie.remove(SPRING_SECURITY.id());
+
+        assertThat(trie.complete("spring", 10)).containsExactly(SPRING_BOOT);
+        assertThat(trie.complete("secu", 10)).containsExactly(SECURITE_WEB);
+        assertThat(trie.size()).isEqualTo(3);
+
+        trie.remove(42);
+        assertThat(trie.size()).isEqualTo(3);
+    }
+
+    @Test
+    void topKIsRecomputedWhenAnEntryLeaves() {
+        SuggestionTrie small = SuggestionTrie.of(List.of(SPRING_BOOT, SPRING_SECURITY, SECURITE_WEB), 2);
+        assertThat(small.complete("s", 10)).containsExactly(SPRING_SECURITY, SPRING_BOOT);
+
+        small.remove(SPRING_SECURITY.id());
+        assertThat(small.complete("s", 10)).containsExactly(SPRING_BOOT, SECURITE_WEB);
+    }
+}
@@ -0,0 +1,29 @@
+package com.openclassrooms.mddapi.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Terms as the in-memory index and the suggestion trie see them
+ */
+class TokenizerTests {
+
+    @Test
+    void termsAreLowerCasedAndAccentFree() {
+        assertThat(Tokenizer.tokenize("Sécurité Spring Boot, Java 21"))
+                .containsExactly("securite", "spring", "boot", "java", "21");
+    }
+
+    @Test
+    void stopWordsAndSingleLettersAreDropped() {
+        assertThat(Tokenizer.tokenize("On déploie les conteneurs on the cluster, a B"))
+                .containsExactly("deploie", "conteneurs", "cluster");
+    }
+
+    @Test
+    void nothingToTokenize() {
+        assertThat(Tokenizer.tokenize(null)).isEmpty();
+        assertThat(Tokenizer.tokenize("  -- ")).isEmpty();
+    }
+}
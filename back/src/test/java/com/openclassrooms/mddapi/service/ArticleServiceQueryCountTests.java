@@ -0,0 +1,118 @@
+package com.openclassrooms.mddapi.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.UUID;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.openclassrooms.mddapi.model.Article;
+import com.openclassrooms.mddapi.model.Comment;
+import com.openclassrooms.mddapi.model.Theme;
+import com.openclassrooms.mddapi.model.User;
+import com.openclassrooms.mddapi.repository.ArticleRepository;
+import com.openclassrooms.mddapi.repository.CommentRepository;
+import com.openclassrooms.mddapi.repository.ThemeRepository;
+import com.openclassrooms.mddapi.repository.UserRepository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Guards the article list endpoints against N+1 regressions:
+ * the number of SQL statements per page must not depend on how many articles it holds
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        // Counts the SQL path: first pages would otherwise be served from memory
+        "app.article-buffer.enabled=false"
+})
+@Transactional
+class ArticleServiceQueryCountTests {
+
+    @Autowired
+    private ArticleService articleService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ThemeRepository themeRepository;
+
+    @Autowired
+    private ArticleRepository articleRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    private User author;
+
+    private Theme theme;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        author = userRepository.save(new User("qc-" + suffix + "@example.com", "qc_" + suffix, "Password!1"));
+        theme = themeRepository.save(new Theme("Query count " + suffix, "Statement count fixture"));
+    }
+
+    @Test
+    void getAllArticlesUsesOneStatementWhateverThePageSize() {
+        createArticles(3);
+        long smallPage = countStatements(() -> articleService.getAllArticles(null, 3));
+
+        createArticles(30);
+        long largePage = countStatements(() -> articleService.getAllArticles(null, 30));
+
+        assertThat(smallPage).isEqualTo(1);
+        assertThat(largePage).isEqualTo(smallPage);
+    }
+
+    @Test
+    void getArticlesByThemeAndAuthorUseConstantStatements() {
+        createArticles(2);
+        long byThemeSmall = countStatements(() -> articleService.getArticlesByTheme(theme.getId(), null, 2));
+        long byAuthorSmall = countStatements(() -> articleService.getArticlesByAuthor(author, null, 2));
+
+        createArticles(25);
+        long byThemeLarge = countStatements(() -> articleService.getArticlesByTheme(theme.getId(), null, 25));
+        long byAuthorLarge = countStatements(() -> articleService.getArticlesByAuthor(author, null, 25));
+
+        assertThat(byThemeLarge).isEqualTo(byThemeSmall);
+        assertThat(byAuthorLarge).isEqualTo(byAuthorSmall).isEqualTo(1);
+    }
+
+    private void createArticles(int count) {
+        for (int i = 0; i < count; i++) {
+            Article article = articleRepository.save(new Article("Article " + i, "Content " + i, author, theme));
+            commentRepository.save(new Comment("First comment", author, article));
+            commentRepository.save(new Comment("Second comment", author, article));
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private long countStatements(Runnable call) {
+        statistics.clear();
+        call.run();
+        long count = statistics.getPrepareStatementCount();
+        entityManager.clear();
+        return count;
+    }
+}
@@ -0,0 +1,110 @@
+package com.openclassrooms.mddapi.service.impl;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.SecretKey;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.openclassrooms.mddapi.model.User;
+import com.openclassrooms.mddapi.security.VerifiedToken;
+import com.openclassrooms.mddapi.security.VerifiedTokenCache;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Per-request JWT verification, as the authentication filter does it
+ * - perCallParser: before, the HMAC key and the parser rebuilt for every token read
+ * - sharedParser: JwtServiceImpl.verify with the verified-token cache turned off (jwt.verified-cache.max-size=0)
+ * - verifiedCache: JwtServiceImpl.verify as configured, every token already verified once
+ * Requests cycle through the tokens of `users` distinct users.
+ *
+ * ./mvnw -Pbenchmark test-compile exec:exec -Djmh.args="JwtVerificationBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET = "benchmark-secret-benchmark-secret-benchmark-secret-0123456789";
+
+    @Param({"1000"})
+    private int users;
+
+    private String[] tokens;
+    private JwtServiceImpl uncached;
+    private JwtServiceImpl cached;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        uncached = jwtService(0);
+        cached = jwtService(10000);
+
+        tokens = new String[users];
+        for (int i = 0; i < users; i++) {
+            User user = new User();
+            user.setId((long) i + 1);
+            user.setUsername("user" + (i + 1));
+            user.setEmail("user" + (i + 1) + "@example.com");
+            tokens[i] = cached.generateToken(user);
+            cached.verify(tokens[i]);
+        }
+    }
+
+    @Benchmark
+    public Claims perCallParser(Cursor cursor) {
+        SecretKey key = Keys.hmacShaKeyFor(SECRET.getBytes());
+        return Jwts.parser().verifyWith(key).build().parseSignedClaims(next(cursor)).getPayload();
+    }
+
+    @Benchmark
+    public VerifiedToken sharedParser(Cursor cursor) {
+        return uncached.verify(next(cursor));
+    }
+
+    @Benchmark
+    public VerifiedToken verifiedCache(Cursor cursor) {
+        return cached.verify(next(cursor));
+    }
+
+    private String next(Cursor cursor) {
+        String token = tokens[cursor.next];
+        cursor.next = (cursor.next + 1) % tokens.length;
+        return token;
+    }
+
+    private static JwtServiceImpl jwtService(int cacheSize) {
+        VerifiedTokenCache cache = new VerifiedTokenCache(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(cache, "maxSize", cacheSize);
+
+        JwtServiceImpl jwtService = new JwtServiceImpl();
+        ReflectionTestUtils.setField(jwtService, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtService, "jwtExpirationInMs", 3_600_000L);
+        ReflectionTestUtils.setField(jwtService, "verifiedTokenCache", cache);
+        jwtService.init();
+        return jwtService;
+    }
+}
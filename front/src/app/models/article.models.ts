@@ -17,6 +17,41 @@ export interface Article {
   updatedAt: string;
 }
 
+/** List item: content is replaced by a server-side excerpt */
+export interface ArticleSummary {
+  id: number;
+  title: string;
+  excerpt: string;
+  authorUsername: string;
+  theme: Theme;
+  commentsCount: number;
+  createdAt: string;
+  updatedAt: string;
+}
+
+export interface CursorPage<T> {
+  items: T[];
+  nextCursor: string | null;
+  hasNext: boolean;
+}
+
+/** FUZZY tolerates typos but has no query syntax and no highlights */
+export type SearchMode = 'FULL_TEXT' | 'FUZZY';
+
+/** headline is escaped HTML with matched terms wrapped in <mark> */
+export interface ArticleSearchHit {
+  article: ArticleSummary;
+  headline: string;
+  rank: number;
+}
+
+export interface SearchPage<T> {
+  items: T[];
+  page: number;
+  size: number;
+  hasNext: boolean;
+}
+
 export interface CreateArticleRequest {
   title: string;
   content: string;
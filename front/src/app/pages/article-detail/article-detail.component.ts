@@ -42,8 +42,10 @@ export class ArticleDetailComponent implements OnInit {
 
   article: Article | null = null;
   comments: Comment[] = [];
+  commentsCursor: string | null = null;
   isLoading = true;
   isCommentsLoading = false;
+  isLoadingMoreComments = false;
   newComment = '';
   isSubmittingComment = false;
 
@@ -73,11 +75,13 @@ export class ArticleDetailComponent implements OnInit {
     });
   }
 
+  // Newest first, so a comment just posted belongs at the top
   loadComments(articleId: number): void {
     this.isCommentsLoading = true;
     this.articleService.getCommentsByArticle(articleId).subscribe({
-      next: (comments) => {
-        this.comments = comments;
+      next: (page) => {
+        this.comments = page.items;
+        this.commentsCursor = page.nextCursor;
         this.isCommentsLoading = false;
       },
       error: (error) => {
@@ -87,6 +91,27 @@ export class ArticleDetailComponent implements OnInit {
     });
   }
 
+  loadMoreComments(): void {
+    if (!this.article || !this.commentsCursor || this.isLoadingMoreComments) {
+      return;
+    }
+
+    this.isLoadingMoreComments = true;
+    this.articleService
+      .getCommentsByArticle(this.article.id, this.commentsCursor)
+      .subscribe({
+        next: (page) => {
+          this.comments = [...this.comments, ...page.items];
+          this.commentsCursor = page.nextCursor;
+          this.isLoadingMoreComments = false;
+        },
+        error: (error) => {
+          console.error('Error loading more comments:', error);
+          this.isLoadingMoreComments = false;
+        },
+      });
+  }
+
   onSubmitComment(): void {
     if (!this.newComment.trim() || !this.article || this.isSubmittingComment) {
       return;
@@ -6,7 +6,7 @@ import { MatProgressSpinnerModule } from '@angular/material/progress-spinner';
 import { Router } from '@angular/router';
 import { ArticleStateService } from '../../services/article-state.service';
 import { DateService } from '../../services/date.service';
-import { Article } from '../../models/article.models';
+import { ArticleSummary } from '../../models/article.models';
 import { CardComponent } from '../../components/card/card.component';
 
 @Component({
@@ -33,6 +33,7 @@ export class ArticlesComponent implements OnInit {
   readonly sortOrder = this.articleStateService.sortOrder;
   readonly articlesCount = this.articleStateService.articlesCount;
   readonly hasArticles = this.articleStateService.hasArticles;
+  readonly hasMore = this.articleStateService.hasMore;
 
   ngOnInit(): void {
     this.loadArticles();
@@ -48,15 +49,29 @@ export class ArticlesComponent implements OnInit {
     });
   }
 
+  loadMore(): void {
+    this.articleStateService.loadMore().subscribe({
+      error: (error) => {
+        console.error('Error loading more articles:', error);
+      },
+    });
+  }
+
   toggleSort(): void {
+    // The feed is ordered server-side: reload from the first page in the new order
     this.articleStateService.toggleSortOrder();
+    this.articleStateService.forceReload().subscribe({
+      error: (error) => {
+        console.error('Error loading articles:', error);
+      },
+    });
   }
 
   onCreateArticle(): void {
     this.router.navigate(['/create-article']);
   }
 
-  onArticleClick(article: Article): void {
+  onArticleClick(article: ArticleSummary): void {
     this.router.navigate(['/articles', article.id]);
   }
 
@@ -1,7 +1,7 @@
 import { Injectable, inject, signal, computed } from '@angular/core';
-import { Observable, tap } from 'rxjs';
+import { Observable, map, tap } from 'rxjs';
 import { ArticleService } from './article.service';
-import { Article } from '../models/article.models';
+import { ArticleSummary } from '../models/article.models';
 
 /**
  * State management service for articles using Angular Signals
@@ -14,15 +14,17 @@ export class ArticleStateService {
   private readonly articleService = inject(ArticleService);
 
   // Private signals for state management
-  private readonly _articles = signal<Article[]>([]);
+  private readonly _articles = signal<ArticleSummary[]>([]);
   private readonly _isLoading = signal(false);
   private readonly _lastFetchTime = signal<Date | null>(null);
+  private readonly _nextCursor = signal<string | null>(null);
   private readonly _selectedSortOrder = signal<'desc' | 'asc'>('desc');
 
   // Public readonly signals
   readonly isLoading = this._isLoading.asReadonly();
   readonly lastFetchTime = this._lastFetchTime.asReadonly();
   readonly sortOrder = this._selectedSortOrder.asReadonly();
+  readonly hasMore = computed(() => this._nextCursor() !== null);
 
   // Computed signals for derived state
   readonly articles = computed(() => {
@@ -49,7 +51,7 @@ export class ArticleStateService {
   });
 
   // Methods
-  loadArticles(force = false): Observable<Article[]> {
+  loadArticles(force = false): Observable<ArticleSummary[]> {
     // Skip loading if we have fresh data and force is false
     if (!force && this.hasArticles() && !this.isStale()) {
       return new Observable(observer => {
@@ -60,15 +62,29 @@ export class ArticleStateService {
 
     this._isLoading.set(true);
 
-    return this.articleService.getAllArticles().pipe(
-      tap(articles => {
-        this._articles.set(articles);
+    return this.articleService.getFeed(this._selectedSortOrder()).pipe(
+      tap(page => {
+        this._articles.set(page.items);
+        this._nextCursor.set(page.nextCursor);
         this._lastFetchTime.set(new Date());
         this._isLoading.set(false);
-      })
+      }),
+      map(page => page.items)
     );
   }
 
+  loadMore(): Observable<ArticleSummary[]> {
+    return this.articleService
+      .getFeed(this._selectedSortOrder(), this._nextCursor())
+      .pipe(
+        tap(page => {
+          this._articles.set([...this._articles(), ...page.items]);
+          this._nextCursor.set(page.nextCursor);
+        }),
+        map(page => page.items)
+      );
+  }
+
   setSortOrder(order: 'desc' | 'asc'): void {
     this._selectedSortOrder.set(order);
   }
@@ -78,12 +94,12 @@ export class ArticleStateService {
     this._selectedSortOrder.set(newOrder);
   }
 
-  addArticle(article: Article): void {
+  addArticle(article: ArticleSummary): void {
     const currentArticles = this._articles();
     this._articles.set([...currentArticles, article]);
   }
 
-  updateArticle(updatedArticle: Article): void {
+  updateArticle(updatedArticle: ArticleSummary): void {
     const currentArticles = this._articles();
     const index = currentArticles.findIndex(a => a.id === updatedArticle.id);
 
@@ -100,16 +116,17 @@ export class ArticleStateService {
     this._articles.set(filteredArticles);
   }
 
-  getArticleById(id: number): Article | undefined {
+  getArticleById(id: number): ArticleSummary | undefined {
     return this._articles().find(article => article.id === id);
   }
 
   clearCache(): void {
     this._articles.set([]);
+    this._nextCursor.set(null);
     this._lastFetchTime.set(null);
   }
 
-  forceReload(): Observable<Article[]> {
+  forceReload(): Observable<ArticleSummary[]> {
     return this.loadArticles(true);
   }
 }
\ No newline at end of file
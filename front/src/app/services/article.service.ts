@@ -1,11 +1,16 @@
 import { Injectable, inject } from '@angular/core';
-import { HttpClient, HttpHeaders } from '@angular/common/http';
+import { HttpClient, HttpHeaders, HttpParams } from '@angular/common/http';
 import { Observable } from 'rxjs';
 import {
   Article,
+  ArticleSummary,
+  ArticleSearchHit,
+  SearchPage,
+  SearchMode,
   CreateArticleRequest,
   Comment,
   CreateCommentRequest,
+  CursorPage,
 } from '../models/article.models';
 import { environment } from '../../environments/environment';
 
@@ -24,38 +29,88 @@ export class ArticleService {
     });
   }
 
-  getAllArticles(): Observable<Article[]> {
-    return this.http.get<Article[]>(`${this.apiUrl}/articles`, {
+  private getPageParams(cursor?: string | null, size?: number): HttpParams {
+    let params = new HttpParams();
+    if (cursor) {
+      params = params.set('cursor', cursor);
+    }
+    if (size) {
+      params = params.set('size', size);
+    }
+    return params;
+  }
+
+  getAllArticles(
+    cursor?: string | null,
+    size?: number
+  ): Observable<CursorPage<ArticleSummary>> {
+    return this.http.get<CursorPage<ArticleSummary>>(`${this.apiUrl}/articles`, {
       headers: this.getHeaders(),
+      params: this.getPageParams(cursor, size),
     });
   }
 
-  getArticleById(id: number): Observable<Article> {
-    return this.http.get<Article>(`${this.apiUrl}/articles/${id}`, {
+  getFeed(
+    sort: 'desc' | 'asc' = 'desc',
+    cursor?: string | null,
+    size?: number
+  ): Observable<CursorPage<ArticleSummary>> {
+    return this.http.get<CursorPage<ArticleSummary>>(`${this.apiUrl}/feed`, {
       headers: this.getHeaders(),
+      params: this.getPageParams(cursor, size).set('sort', sort),
     });
   }
 
-  getMyArticles(): Observable<Article[]> {
-    return this.http.get<Article[]>(`${this.apiUrl}/articles/my-articles`, {
+  getArticleById(id: number): Observable<Article> {
+    return this.http.get<Article>(`${this.apiUrl}/articles/${id}`, {
       headers: this.getHeaders(),
     });
   }
 
-  getArticlesByTheme(themeId: number): Observable<Article[]> {
-    return this.http.get<Article[]>(
+  getMyArticles(
+    cursor?: string | null,
+    size?: number
+  ): Observable<CursorPage<ArticleSummary>> {
+    return this.http.get<CursorPage<ArticleSummary>>(
+      `${this.apiUrl}/articles/my-articles`,
+      {
+        headers: this.getHeaders(),
+        params: this.getPageParams(cursor, size),
+      }
+    );
+  }
+
+  getArticlesByTheme(
+    themeId: number,
+    cursor?: string | null,
+    size?: number
+  ): Observable<CursorPage<ArticleSummary>> {
+    return this.http.get<CursorPage<ArticleSummary>>(
       `${this.apiUrl}/articles/by-theme/${themeId}`,
       {
         headers: this.getHeaders(),
+        params: this.getPageParams(cursor, size),
       }
     );
   }
 
-  searchArticles(keyword: string): Observable<Article[]> {
-    return this.http.get<Article[]>(`${this.apiUrl}/articles/search`, {
-      headers: this.getHeaders(),
-      params: { keyword },
-    });
+  searchArticles(
+    keyword: string,
+    page = 0,
+    size?: number,
+    mode: SearchMode = 'FULL_TEXT'
+  ): Observable<SearchPage<ArticleSearchHit>> {
+    const params: Record<string, string | number> = { keyword, mode, page };
+    if (size) {
+      params['size'] = size;
+    }
+    return this.http.get<SearchPage<ArticleSearchHit>>(
+      `${this.apiUrl}/articles/search`,
+      {
+        headers: this.getHeaders(),
+        params,
+      }
+    );
   }
 
   createArticle(article: CreateArticleRequest): Observable<Article> {
@@ -80,11 +135,17 @@ export class ArticleService {
   }
 
   // Comments
-  getCommentsByArticle(articleId: number): Observable<Comment[]> {
-    return this.http.get<Comment[]>(
+  getCommentsByArticle(
+    articleId: number,
+    cursor?: string | null,
+    size?: number,
+    sort: 'desc' | 'asc' = 'desc'
+  ): Observable<CursorPage<Comment>> {
+    return this.http.get<CursorPage<Comment>>(
       `${this.apiUrl}/comments/article/${articleId}`,
       {
         headers: this.getHeaders(),
+        params: this.getPageParams(cursor, size).set('sort', sort),
       }
     );
   }
@@ -101,9 +162,16 @@ export class ArticleService {
     });
   }
 
-  getMyComments(): Observable<Comment[]> {
-    return this.http.get<Comment[]>(`${this.apiUrl}/comments/my-comments`, {
-      headers: this.getHeaders(),
-    });
+  getMyComments(
+    cursor?: string | null,
+    size?: number
+  ): Observable<CursorPage<Comment>> {
+    return this.http.get<CursorPage<Comment>>(
+      `${this.apiUrl}/comments/my-comments`,
+      {
+        headers: this.getHeaders(),
+        params: this.getPageParams(cursor, size),
+      }
+    );
   }
 }
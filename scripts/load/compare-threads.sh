@@ -0,0 +1,30 @@
+#!/usr/bin/env bash
+# Runs the k6 read mix against the API started with platform threads, then with virtual threads,
+# and keeps both summaries side by side in scripts/load/results/.
+# Needs k6, the database up and LOGIN/PASSWORD of an existing account. Extra arguments go to k6.
+set -euo pipefail
+
+cd "$(dirname "$0")/../.."
+mkdir -p scripts/load/results
+: "${LOGIN:?set LOGIN to an existing account}"
+: "${PASSWORD:?set PASSWORD}"
+
+for virtual in false true; do
+  echo "== spring.threads.virtual.enabled=${virtual}"
+  (cd back && SPRING_THREADS_VIRTUAL_ENABLED="${virtual}" ./mvnw -q spring-boot:run > "../scripts/load/results/api-virtual-${virtual}.log" 2>&1) &
+  api=$!
+
+  until curl -sf http://localhost:8080/actuator/health > /dev/null; do sleep 2; done
+
+  k6 run --summary-export "scripts/load/results/virtual-${virtual}.json" "$@" scripts/load/read-mix.js
+
+  kill "${api}"
+  wait "${api}" 2> /dev/null || true
+  while curl -sf http://localhost:8080/actuator/health > /dev/null; do sleep 1; done
+done
+
+for virtual in false true; do
+  printf 'virtual=%-5s ' "${virtual}"
+  jq -r '"req/s=\(.metrics.http_reqs.rate | floor)  p95=\(.metrics.http_req_duration["p(95)"] | floor)ms  p99=\(.metrics.http_req_duration["p(99)"] | floor)ms  failed=\(.metrics.http_req_failed.value)"' \
+    "scripts/load/results/virtual-${virtual}.json"
+done
@@ -0,0 +1,62 @@
+// k6 read-mix load test: feed-like list pages, article details and their comments, as one logged-in user.
+// Run twice against the same data, once per threading mode, and compare http_reqs rate and latency percentiles:
+//   SPRING_THREADS_VIRTUAL_ENABLED=false ./mvnw spring-boot:run   then   k6 run scripts/load/read-mix.js
+//   SPRING_THREADS_VIRTUAL_ENABLED=true  ./mvnw spring-boot:run   then   k6 run scripts/load/read-mix.js
+// Environment: BASE_URL (http://localhost:8080), LOGIN and PASSWORD (an existing account), VUS (400), DURATION (2m)
+import http from 'k6/http';
+import { check, fail } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8080';
+const VUS = parseInt(__ENV.VUS || '400', 10);
+
+export const options = {
+  scenarios: {
+    reads: {
+      executor: 'ramping-vus',
+      startVUs: 0,
+      stages: [
+        { duration: '30s', target: VUS },
+        { duration: __ENV.DURATION || '2m', target: VUS },
+        { duration: '10s', target: 0 },
+      ],
+    },
+  },
+  thresholds: {
+    http_req_failed: ['rate<0.01'],
+  },
+  summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+};
+
+export function setup() {
+  const res = http.post(`${BASE_URL}/api/auth/login`,
+    JSON.stringify({ emailOrUsername: __ENV.LOGIN, password: __ENV.PASSWORD }),
+    { headers: { 'Content-Type': 'application/json' } });
+  if (res.status !== 200) {
+    fail(`login failed with status ${res.status}: set LOGIN and PASSWORD to an existing account`);
+  }
+
+  const headers = { Authorization: `Bearer ${res.json('token')}` };
+  const themes = http.get(`${BASE_URL}/api/themes`, { headers }).json().map(theme => theme.id);
+  const articles = http.get(`${BASE_URL}/api/articles?size=50`, { headers }).json('items').map(article => article.id);
+  if (articles.length === 0) {
+    fail('no articles to read: import some first (POST /api/admin/import/articles)');
+  }
+  return { headers, themes, articles };
+}
+
+function pick(values) {
+  return values[Math.floor(Math.random() * values.length)];
+}
+
+export default function (data) {
+  const params = { headers: data.headers };
+  const articleId = pick(data.articles);
+
+  const responses = http.batch([
+    ['GET', `${BASE_URL}/api/articles?size=20`, null, params],
+    ['GET', `${BASE_URL}/api/articles/by-theme/${pick(data.themes)}?size=20`, null, params],
+    ['GET', `${BASE_URL}/api/articles/${articleId}`, null, params],
+    ['GET', `${BASE_URL}/api/comments/article/${articleId}?size=20`, null, params],
+  ]);
+  responses.forEach(res => check(res, { 'status is 200': r => r.status === 200 }));
+}
@@ -0,0 +1,10 @@
+#!/bin/sh
+# Lets the read replica of docker-compose.replica.yml stream WAL from the primary
+# Runs once, with the other init scripts, when the primary starts on an empty data directory
+set -e
+
+psql -v ON_ERROR_STOP=1 --username "$POSTGRES_USER" --dbname "$POSTGRES_DB" <<-EOSQL
+    CREATE ROLE replicator WITH REPLICATION LOGIN PASSWORD '${POSTGRES_REPLICATION_PASSWORD:-replicator}';
+EOSQL
+
+echo "host replication replicator all scram-sha-256" >> "$PGDATA/pg_hba.conf"
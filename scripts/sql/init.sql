@@ -1,6 +1,9 @@
 -- MDD Database Schema
 -- This script initializes the database schema for the MDD application
 
+-- Trigram similarity, used by fuzzy article search
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
 -- Users table
 CREATE TABLE IF NOT EXISTS users (
     id BIGSERIAL PRIMARY KEY,
@@ -27,10 +30,19 @@ CREATE TABLE IF NOT EXISTS articles (
     content TEXT NOT NULL,
     user_id BIGINT NOT NULL REFERENCES users(id),
     theme_id BIGINT NOT NULL REFERENCES themes(id),
+    comments_count INTEGER NOT NULL DEFAULT 0,
+    last_activity_at TIMESTAMP,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
 
+-- Full-text search vector, weighted title (A) and content (B)
+ALTER TABLE articles ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('french', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('french', coalesce(content, '')), 'B')
+    ) STORED;
+
 -- Comments table
 CREATE TABLE IF NOT EXISTS comments (
     id BIGSERIAL PRIMARY KEY,
@@ -50,13 +62,42 @@ CREATE TABLE IF NOT EXISTS subscriptions (
     UNIQUE(user_id, theme_id)
 );
 
+-- Materialized subscribed-theme feed, filled by the fan-out on article creation
+CREATE TABLE IF NOT EXISTS user_timelines (
+    user_id BIGINT NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+    article_id BIGINT NOT NULL REFERENCES articles(id) ON DELETE CASCADE,
+    theme_id BIGINT NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    PRIMARY KEY (user_id, article_id)
+);
+
+-- Tokens revoked by logout, until they expire; new rows are broadcast on the token_revoked channel
+CREATE TABLE IF NOT EXISTS revoked_tokens (
+    key_high BIGINT NOT NULL,
+    key_low BIGINT NOT NULL,
+    expires_at TIMESTAMPTZ NOT NULL,
+    PRIMARY KEY (key_high, key_low)
+);
+
 -- Indexes for better performance
 CREATE INDEX IF NOT EXISTS idx_articles_user_id ON articles(user_id);
 CREATE INDEX IF NOT EXISTS idx_articles_theme_id ON articles(theme_id);
+-- Keyset pagination indexes on (created_at, id)
+CREATE INDEX IF NOT EXISTS idx_articles_created_at_id ON articles(created_at, id);
+CREATE INDEX IF NOT EXISTS idx_articles_theme_created_at_id ON articles(theme_id, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_articles_user_created_at_id ON articles(user_id, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_articles_search_vector ON articles USING GIN (search_vector);
+CREATE INDEX IF NOT EXISTS idx_articles_title_trgm ON articles USING GIN (title gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_articles_content_trgm ON articles USING GIN (content gin_trgm_ops);
 CREATE INDEX IF NOT EXISTS idx_comments_article_id ON comments(article_id);
 CREATE INDEX IF NOT EXISTS idx_comments_user_id ON comments(user_id);
+CREATE INDEX IF NOT EXISTS idx_comments_article_created_at_id ON comments(article_id, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_comments_user_created_at_id ON comments(user_id, created_at, id);
 CREATE INDEX IF NOT EXISTS idx_subscriptions_user_id ON subscriptions(user_id);
 CREATE INDEX IF NOT EXISTS idx_subscriptions_theme_id ON subscriptions(theme_id);
+CREATE INDEX IF NOT EXISTS idx_user_timelines_user_created_at ON user_timelines(user_id, created_at, article_id);
+CREATE INDEX IF NOT EXISTS idx_user_timelines_article_id ON user_timelines(article_id);
+CREATE INDEX IF NOT EXISTS idx_revoked_tokens_expires_at ON revoked_tokens(expires_at);
 
 -- Insert sample themes
 INSERT INTO themes (name, description) VALUES
@@ -109,4 +150,15 @@ INSERT INTO articles (title, content, user_id, theme_id, created_at, updated_at)
     ('Déploiement CI/CD avec GitHub Actions',
      'Lorem ipsum dolor sit amet, consectetur adipiscing elit. Vivamus lacinia odio vitae vestibulum. Donec auctor blandit quam, ac sollicitudin urna molestie id. Curabitur blandit tempus porttitor. Nullam quis risus eget urna mollis ornare vel eu leo.',
      5, 5, '2024-09-25 15:10:00', '2024-09-25 15:10:00')
-ON CONFLICT DO NOTHING;
\ No newline at end of file
+ON CONFLICT DO NOTHING;
+
+-- Sample articles have no comments yet: their last activity is their creation
+UPDATE articles SET last_activity_at = created_at WHERE last_activity_at IS NULL;
+
+-- Ids are allocated by Hibernate in blocks of 50 (pooled-lo), enabling batched inserts
+-- Altered after the sample data, which refers to users and themes 1 to 5
+ALTER SEQUENCE users_id_seq INCREMENT BY 50;
+ALTER SEQUENCE themes_id_seq INCREMENT BY 50;
+ALTER SEQUENCE articles_id_seq INCREMENT BY 50;
+ALTER SEQUENCE comments_id_seq INCREMENT BY 50;
+ALTER SEQUENCE subscriptions_id_seq INCREMENT BY 50;